@@ -0,0 +1,86 @@
+package com.bookstore.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Async Configuration
+ * 
+ * Domain events (com.bookstore.event) are handled by
+ * @Async("domainEventExecutor") @TransactionalEventListener methods:
+ * they run after the sale/book transaction commits, on this pool,
+ * so slow subscribers never hold database locks.
+ * 
+ * The pool is bounded: when all threads are busy and the queue is full, the
+ * publishing thread runs the listener itself (CallerRunsPolicy). That slows
+ * producers down instead of dropping events or growing memory without limit.
+ * 
+ * The WebSocket broker's channel executors make Spring Boot skip its default
+ * "applicationTaskExecutor" (used by MVC async requests such as the sales
+ * export); it is declared here so those requests never land on this pool.
+ * 
+ * Virtual threads (spring.threads.virtual.enabled on Java 21, profile
+ * "virtual-threads"): both executors start one virtual thread per task
+ * instead of pooling, without a concurrency limit. The database work of the
+ * listeners is bounded by the connection pool. A limit here would deadlock:
+ * the committing thread still holds its connection while after-commit
+ * listeners are submitted, so once the pool is exhausted it would wait for a
+ * free slot while the running listeners wait for its connection.
+ * 
+ * Interview Points:
+ * - @TransactionalEventListener(phase = AFTER_COMMIT) vs @EventListener
+ * - Backpressure: bounded queue + caller-runs
+ * - Virtual threads are cheap to create, so they are never pooled
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+    
+    public static final String DOMAIN_EVENT_EXECUTOR = "domainEventExecutor";
+    
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder,
+                                                     SimpleAsyncTaskExecutorBuilder virtualThreadBuilder,
+                                                     Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualThreadBuilder.build();
+        }
+        return builder.build();
+    }
+    
+    @Bean(name = DOMAIN_EVENT_EXECUTOR)
+    public AsyncTaskExecutor domainEventExecutor(
+            @Value("${bookstore.events.executor.core-size:2}") int coreSize,
+            @Value("${bookstore.events.executor.max-size:4}") int maxSize,
+            @Value("${bookstore.events.executor.queue-capacity:1000}") int queueCapacity,
+            SimpleAsyncTaskExecutorBuilder virtualThreadBuilder,
+            Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = virtualThreadBuilder
+                    .threadNamePrefix("domain-event-")
+                    .build();
+            executor.setTaskTerminationTimeout(10_000);
+            return executor;
+        }
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("domain-event-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
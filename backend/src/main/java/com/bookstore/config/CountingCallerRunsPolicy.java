@@ -0,0 +1,53 @@
+package com.bookstore.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CountingCallerRunsPolicy - Caller-runs for a saturated pool, counted and logged
+ * 
+ * When all threads are busy and the queue is full, the submitting thread runs
+ * the task itself: nothing is dropped, and the submitter is slowed down
+ * (backpressure). Each time is counted (exported by MetricsConfig) and a
+ * warning is logged at most once a minute.
+ * 
+ * Interview Points:
+ * - AbortPolicy (the ThreadPoolExecutor default) throws, and the task is lost
+ * - Rate limited logging: saturation comes in bursts of thousands of tasks
+ */
+@RequiredArgsConstructor
+@Slf4j
+class CountingCallerRunsPolicy implements RejectedExecutionHandler {
+    
+    private static final long WARN_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    
+    private final String poolName;
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong lastWarning = new AtomicLong(System.nanoTime() - WARN_INTERVAL_NANOS);
+    
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            return;
+        }
+        long total = callerRuns.incrementAndGet();
+        long now = System.nanoTime();
+        long last = lastWarning.get();
+        if (now - last >= WARN_INTERVAL_NANOS && lastWarning.compareAndSet(last, now)) {
+            log.warn("{} pool saturated ({} threads, queue full): tasks run on the submitting thread ({} so far)",
+                    poolName, executor.getPoolSize(), total);
+        }
+        task.run();
+    }
+    
+    /**
+     * Tasks run by the submitting thread since startup
+     */
+    long getCallerRuns() {
+        return callerRuns.get();
+    }
+}
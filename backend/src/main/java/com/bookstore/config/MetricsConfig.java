@@ -0,0 +1,94 @@
+package com.bookstore.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Metrics Configuration
+ * 
+ * Actuator exposes everything registered with Micrometer at /actuator/prometheus.
+ * Auto-configured: HTTP requests (http.server.requests), repository calls
+ * (spring.data.repository.invocations, per repository and method), JVM,
+ * HikariCP, Tomcat, executors.
+ * Registered by the application: sale timers (SaleMetrics), low stock alert
+ * counters (LowStockAlertPublisher), the WebSocket sessions and channel
+ * saturation below.
+ * 
+ * Interview Points:
+ * - MeterBinder: meters bound once the registry exists
+ * - Gauges read a current value on scrape (nothing to update on connect/disconnect)
+ */
+@Configuration
+public class MetricsConfig {
+    
+    /**
+     * Open WebSocket/SockJS sessions by transport, and sessions closed by the server
+     * (send limits exceeded, no CONNECT in time, transport errors)
+     */
+    @Bean
+    public MeterBinder webSocketSessionMetrics(@Qualifier("subProtocolWebSocketHandler") WebSocketHandler webSocketHandler) {
+        SubProtocolWebSocketHandler.Stats stats =
+                ((SubProtocolWebSocketHandler) WebSocketHandlerDecorator.unwrap(webSocketHandler)).getStats();
+        
+        return registry -> {
+            registerSessionGauge(registry, stats, "websocket", SubProtocolWebSocketHandler.Stats::getWebSocketSessions);
+            registerSessionGauge(registry, stats, "http_streaming", SubProtocolWebSocketHandler.Stats::getHttpStreamingSessions);
+            registerSessionGauge(registry, stats, "http_polling", SubProtocolWebSocketHandler.Stats::getHttpPollingSessions);
+            
+            registerClosedCounter(registry, stats, "limit_exceeded", SubProtocolWebSocketHandler.Stats::getLimitExceededSessions);
+            registerClosedCounter(registry, stats, "no_messages_received", SubProtocolWebSocketHandler.Stats::getNoMessagesReceivedSessions);
+            registerClosedCounter(registry, stats, "transport_error", SubProtocolWebSocketHandler.Stats::getTransportErrorSessions);
+        };
+    }
+    
+    /**
+     * Tasks of the client inbound/outbound channels run by the submitting thread
+     * because the channel pool was saturated (see WebSocketConfig)
+     */
+    @Bean
+    public MeterBinder webSocketChannelMetrics(@Qualifier("clientInboundChannelExecutor") TaskExecutor inboundExecutor,
+                                               @Qualifier("clientOutboundChannelExecutor") TaskExecutor outboundExecutor) {
+        return registry -> {
+            registerCallerRunsCounter(registry, "inbound", inboundExecutor);
+            registerCallerRunsCounter(registry, "outbound", outboundExecutor);
+        };
+    }
+    
+    private static void registerSessionGauge(MeterRegistry registry,
+                                             SubProtocolWebSocketHandler.Stats stats, String transport,
+                                             ToDoubleFunction<SubProtocolWebSocketHandler.Stats> value) {
+        Gauge.builder("bookstore.websocket.sessions", stats, value)
+                .description("Open WebSocket sessions")
+                .tag("transport", transport)
+                .register(registry);
+    }
+    
+    private static void registerClosedCounter(MeterRegistry registry,
+                                              SubProtocolWebSocketHandler.Stats stats, String reason,
+                                              ToDoubleFunction<SubProtocolWebSocketHandler.Stats> value) {
+        FunctionCounter.builder("bookstore.websocket.sessions.closed", stats, value)
+                .description("WebSocket sessions closed by the server")
+                .tag("reason", reason)
+                .register(registry);
+    }
+    
+    private static void registerCallerRunsCounter(MeterRegistry registry, String channel, TaskExecutor executor) {
+        CountingCallerRunsPolicy policy = (CountingCallerRunsPolicy)
+                ((ThreadPoolTaskExecutor) executor).getThreadPoolExecutor().getRejectedExecutionHandler();
+        FunctionCounter.builder("bookstore.websocket.channel.caller_runs", policy, CountingCallerRunsPolicy::getCallerRuns)
+                .description("WebSocket channel tasks run by the submitting thread (channel pool saturated)")
+                .tag("channel", channel)
+                .register(registry);
+    }
+}
@@ -0,0 +1,93 @@
+package com.bookstore.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * RequestLoggingFilter - One log line for a sample of the HTTP requests
+ * 
+ * Replaces the per-endpoint "REST request to ..." INFO lines: logs method,
+ * path, status and duration for a random sample-rate share of the requests,
+ * and for every request slower than the slow threshold. Unsampled fast
+ * requests cost one random number.
+ * Streaming responses (async requests) are logged when they complete.
+ * 
+ * Interview Points:
+ * - Sampling: log volume independent of traffic, slow outliers never missed
+ * - Servlet filters vs interceptors (filters also see errors and static resources)
+ */
+@Component
+@Slf4j
+public class RequestLoggingFilter extends OncePerRequestFilter {
+    
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    
+    public RequestLoggingFilter(@Value("${bookstore.logging.requests.sample-rate:0.01}") double sampleRate,
+                                @Value("${bookstore.logging.requests.slow-threshold:1s}") Duration slowThreshold) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!log.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < sampleRate;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (isAsyncStarted(request)) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        logRequest(request, response.getStatus(), start, sampled);
+                    }
+                    
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+                    
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+                    
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                // An exception escaping the chain becomes a 500 in the error dispatch
+                logRequest(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                        start, sampled);
+            }
+        }
+    }
+    
+    private void logRequest(HttpServletRequest request, int status, long start, boolean sampled) {
+        long duration = System.nanoTime() - start;
+        boolean slow = duration >= slowThresholdNanos;
+        if (sampled || slow) {
+            log.info("{} {} -> {} in {} ms{}", request.getMethod(), request.getRequestURI(),
+                    status, duration / 1_000_000, slow ? " (slow)" : "");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.bookstore.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Scheduling Configuration
+ * 
+ * Enables @Scheduled methods (background jobs such as the nightly
+ * sales aggregate reconciliation and the low stock alert publisher).
+ * 
+ * The WebSocket message broker registers its own TaskScheduler, which makes
+ * Spring Boot skip its default one - and @Scheduled jobs would then share the
+ * broker's heartbeat threads. Declaring "taskScheduler" here keeps them apart
+ * and applies the spring.task.scheduling.* properties.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+}
@@ -0,0 +1,161 @@
+package com.bookstore.config;
+
+import com.bookstore.service.SlowQueryLog;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * SlowQueryDataSource - Times every JDBC statement and reports the slow ones
+ * 
+ * Wraps the pool's DataSource (see SlowQueryDataSourcePostProcessor): the
+ * connections it hands out are proxies whose statements time the execute*
+ * calls and pass statements above the threshold to SlowQueryLog, together
+ * with the parameter types that were bound (the "bind shape").
+ * 
+ * unwrap()/isWrapperFor() go to the pool, so Hikari metrics and anything
+ * else looking for the HikariDataSource still find it.
+ * 
+ * Interview Points:
+ * - JDK dynamic proxies: one InvocationHandler for a whole interface
+ * - Decorator around a DataSource vs logging inside Hibernate
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+    
+    private final SlowQueryLog slowQueryLog;
+    
+    public SlowQueryDataSource(DataSource targetDataSource, SlowQueryLog slowQueryLog) {
+        super(targetDataSource);
+        this.slowQueryLog = slowQueryLog;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+    
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+    
+    /**
+     * Wraps the statements created by a connection; everything else is passed through
+     */
+    private class ConnectionHandler implements InvocationHandler {
+        
+        private final Connection connection;
+        
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SlowQueryDataSource.invoke(connection, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return wrapStatement(PreparedStatement.class, result, (String) args[0]);
+                case "prepareCall":
+                    return wrapStatement(CallableStatement.class, result, (String) args[0]);
+                case "createStatement":
+                    return wrapStatement(Statement.class, result, null);
+                default:
+                    return result;
+            }
+        }
+        
+        private Object wrapStatement(Class<?> type, Object statement, String sql) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                    new StatementHandler(statement, sql));
+        }
+    }
+    
+    /**
+     * Tracks the bound parameter types and times the execute* calls
+     */
+    private class StatementHandler implements InvocationHandler {
+        
+        private final Object statement;
+        private final String preparedSql;
+        
+        // Parameter type per index (1-based, grown on demand); only read when a statement is slow
+        private String[] bindTypes = new String[8];
+        private int batchSize;
+        
+        StatementHandler(Object statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    return SlowQueryDataSource.invoke(statement, method, args);
+                } finally {
+                    long duration = System.nanoTime() - start;
+                    if (slowQueryLog.isSlow(duration)) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                        slowQueryLog.record(sql != null ? sql : "(batch)", bindShape(), duration);
+                    }
+                    if (name.endsWith("Batch")) {
+                        batchSize = 0;
+                    }
+                }
+            }
+            
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? "null" : args[1] == null ? "null" : args[1].getClass().getSimpleName());
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            } else if (name.equals("clearParameters")) {
+                Arrays.fill(bindTypes, null);
+            }
+            return SlowQueryDataSource.invoke(statement, method, args);
+        }
+        
+        private void bind(int index, String type) {
+            if (index >= bindTypes.length) {
+                bindTypes = Arrays.copyOf(bindTypes, Math.max(index + 1, bindTypes.length * 2));
+            }
+            bindTypes[index] = type;
+        }
+        
+        private String bindShape() {
+            StringBuilder shape = new StringBuilder("(");
+            for (int i = 1; i < bindTypes.length && bindTypes[i] != null; i++) {
+                shape.append(i > 1 ? ", " : "").append(bindTypes[i]);
+            }
+            shape.append(')');
+            if (batchSize > 0) {
+                shape.append(" x ").append(batchSize);
+            }
+            return shape.toString();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.bookstore.config;
+
+import com.bookstore.service.SlowQueryLog;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+
+/**
+ * SlowQueryDataSourcePostProcessor - Puts SlowQueryDataSource around the DataSource
+ * 
+ * Runs after the pool has been created and configured (spring.datasource.*),
+ * so Hibernate, Flyway and JdbcTemplate all get timed connections.
+ * SlowQueryLog is looked up lazily: a post processor's own dependencies
+ * would otherwise be created before post processing is set up.
+ * 
+ * Off unless bookstore.persistence.slow-query.enabled=true: the proxies add
+ * reflective calls to every JDBC call (see SlowQueryDataSourceBenchmark in
+ * the benchmarks module), so they are switched on while investigating.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.persistence.slow-query.enabled", havingValue = "true")
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+    
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+    
+    public SlowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+            return new SlowQueryDataSource(dataSource, slowQueryLog.getObject());
+        }
+        return bean;
+    }
+}
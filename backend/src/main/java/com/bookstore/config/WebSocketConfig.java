@@ -1,10 +1,18 @@
 package com.bookstore.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * WebSocket Configuration
@@ -19,38 +27,159 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
  * 4. Server publishes messages to /topic/low-stock
  * 5. All subscribed clients receive the message
  * 
+ * Sizing (bookstore.websocket.* properties):
+ * - inbound channel: threads handling frames FROM clients (CONNECT, SUBSCRIBE, ...)
+ * - outbound channel: threads writing messages TO clients
+ * - both are bounded and caller-runs when full (CountingCallerRunsPolicy,
+ *   counted as bookstore.websocket.channel.caller_runs)
+ * - transport limits: a client that cannot keep up (send time or send buffer
+ *   limit exceeded) is disconnected, so one slow dashboard cannot back up
+ *   the outbound channel for everyone else
+ * - heartbeats: dead connections are detected and their sessions released
+ * 
  * Interview Points:
  * - WebSocket vs HTTP: persistent connection, real-time bidirectional communication
  * - STOMP protocol: adds message headers, subscription management
  * - Message brokers: enables pub/sub pattern
  * - Why use SimpMessagingTemplate in services
+ * - Bounded queues: backpressure instead of unbounded memory growth
  */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     
+    @Value("${bookstore.websocket.inbound.core-size:4}")
+    private int inboundCoreSize;
+    
+    @Value("${bookstore.websocket.inbound.max-size:8}")
+    private int inboundMaxSize;
+    
+    @Value("${bookstore.websocket.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+    
+    @Value("${bookstore.websocket.outbound.core-size:8}")
+    private int outboundCoreSize;
+    
+    @Value("${bookstore.websocket.outbound.max-size:16}")
+    private int outboundMaxSize;
+    
+    @Value("${bookstore.websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+    
+    @Value("${bookstore.websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMillis;
+    
+    @Value("${bookstore.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+    
+    @Value("${bookstore.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+    
+    @Value("${bookstore.websocket.time-to-first-message-ms:30000}")
+    private int timeToFirstMessageMillis;
+    
+    @Value("${bookstore.websocket.heartbeat.server-ms:10000}")
+    private long serverHeartbeatMillis;
+    
+    @Value("${bookstore.websocket.heartbeat.client-ms:10000}")
+    private long clientHeartbeatMillis;
+    
+    private TaskScheduler heartbeatScheduler;
+    
+    /**
+     * The broker's own scheduler sends the heartbeats
+     * (@Lazy: it is created by the configuration this class contributes to)
+     */
+    @Autowired
+    public void setHeartbeatScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler heartbeatScheduler) {
+        this.heartbeatScheduler = heartbeatScheduler;
+    }
+    
     /**
      * Configure message broker for pub/sub
      * 
      * - setApplicationDestinationPrefixes: prefix for messages FROM client
      * - enableSimpleBroker: enables in-memory broker for pub/sub TO client
+     * - heartbeat: {server sends every, server expects client every} in ms (0 = off)
+     * - preservePublishOrder: messages to one session are sent in publish order
+     *   (the outbound pool would otherwise let e.g. an older analytics update
+     *   overtake a newer one on the way to the same client)
      */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Prefix for messages from client to server
         config.setApplicationDestinationPrefixes("/app");
+        config.setPreservePublishOrder(true);
         
         // Enable simple in-memory broker for messages to clients
         // /topic is for pub/sub (broadcast to all subscribers)
         // /queue is for point-to-point (single recipient)
-        config.enableSimpleBroker("/topic", "/queue");
+        config.enableSimpleBroker("/topic", "/queue")
+                .setHeartbeatValue(new long[] {serverHeartbeatMillis, clientHeartbeatMillis})
+                .setTaskScheduler(heartbeatScheduler);
+    }
+    
+    /**
+     * Thread pool for frames received from clients
+     * 
+     * When saturated, the WebSocket container thread that read the frame
+     * handles it itself (a burst of SUBSCRIBEs slows down reading instead of
+     * losing frames).
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutor("clientInboundChannel"))
+                .corePoolSize(inboundCoreSize)
+                .maxPoolSize(inboundMaxSize)
+                .queueCapacity(inboundQueueCapacity);
+    }
+    
+    /**
+     * Thread pool for messages written to clients
+     * 
+     * When saturated, the publishing thread (broker or SimpMessagingTemplate
+     * caller) writes the message itself.
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutor("clientOutboundChannel"))
+                .corePoolSize(outboundCoreSize)
+                .maxPoolSize(outboundMaxSize)
+                .queueCapacity(outboundQueueCapacity);
+    }
+    
+    /**
+     * Channel pool that never drops a message: the default AbortPolicy would
+     * reject it, and the frame would be lost without an error to the client
+     */
+    private static ThreadPoolTaskExecutor channelExecutor(String channel) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setRejectedExecutionHandler(new CountingCallerRunsPolicy(channel));
+        return executor;
+    }
+    
+    /**
+     * Per-session limits
+     * 
+     * - sendTimeLimit / sendBufferSizeLimit: a session whose pending sends exceed
+     *   either limit is closed (slow client disconnect)
+     * - messageSizeLimit: largest inbound STOMP message accepted
+     * - timeToFirstMessage: connections that never send CONNECT are closed
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMillis)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .setTimeToFirstMessage(timeToFirstMessageMillis);
     }
     
     /**
      * Register WebSocket endpoints
      * 
      * Clients connect to this endpoint to establish WebSocket connection
-     * .withSockJS() provides fallback for browsers without WebSocket support
+     * .withSockJS() provides fallback for browsers without WebSocket support;
+     * plain WebSocket clients connect to /ws/websocket
      */
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
@@ -58,9 +187,5 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws")
                 .setAllowedOrigins("http://localhost:4200")  // Allow Angular dev server
                 .withSockJS();  // SockJS fallback
-        
-        // Optional: separate endpoint without SockJS for modern browsers
-        registry.addEndpoint("/ws")
-                .setAllowedOrigins("http://localhost:4200");
     }
 }
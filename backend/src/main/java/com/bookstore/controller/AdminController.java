@@ -0,0 +1,106 @@
+package com.bookstore.controller;
+
+import com.bookstore.dto.CacheStatsDTO;
+import com.bookstore.dto.PersistenceStatsDTO;
+import com.bookstore.service.BookCache;
+import com.bookstore.service.SlowQueryLog;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * AdminController - Operational endpoints
+ * 
+ * - GET /admin/cache-stats - Hit/miss/eviction statistics of the book cache
+ * - GET /admin/persistence-stats - Hibernate statistics and the slowest statements
+ * - POST /admin/persistence-stats/reset - Start counting again (e.g. before a load test)
+ * 
+ * Kept outside /api: these are for operators, not for the Angular client.
+ */
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminController {
+    
+    private final BookCache bookCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final SlowQueryLog slowQueryLog;
+    
+    /**
+     * GET /admin/cache-stats
+     * Get statistics of the book cache
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<CacheStatsDTO> getCacheStats() {
+        log.debug("REST request to get cache statistics");
+        CacheStats stats = bookCache.stats();
+        CacheStatsDTO dto = CacheStatsDTO.builder()
+                .name("books")
+                .size(bookCache.size())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .loadCount(stats.loadCount())
+                .averageLoadPenaltyMillis(stats.averageLoadPenalty() / 1_000_000.0)
+                .evictionCount(stats.evictionCount())
+                .build();
+        return ResponseEntity.ok(dto);
+    }
+    
+    /**
+     * GET /admin/persistence-stats
+     * Get Hibernate statistics (hibernate.generate_statistics) and the slow statements
+     */
+    @GetMapping("/persistence-stats")
+    public ResponseEntity<PersistenceStatsDTO> getPersistenceStats() {
+        log.debug("REST request to get persistence statistics");
+        Statistics stats = hibernateStatistics();
+        PersistenceStatsDTO dto = PersistenceStatsDTO.builder()
+                .sessionOpenCount(stats.getSessionOpenCount())
+                .transactionCount(stats.getTransactionCount())
+                .flushCount(stats.getFlushCount())
+                .prepareStatementCount(stats.getPrepareStatementCount())
+                .entityLoadCount(stats.getEntityLoadCount())
+                .entityFetchCount(stats.getEntityFetchCount())
+                .entityInsertCount(stats.getEntityInsertCount())
+                .entityUpdateCount(stats.getEntityUpdateCount())
+                .entityDeleteCount(stats.getEntityDeleteCount())
+                .collectionFetchCount(stats.getCollectionFetchCount())
+                .queryExecutionCount(stats.getQueryExecutionCount())
+                .queryExecutionMaxTimeMillis(stats.getQueryExecutionMaxTime())
+                .queryExecutionMaxTimeQueryString(stats.getQueryExecutionMaxTimeQueryString())
+                .queryCacheHitCount(stats.getQueryCacheHitCount())
+                .queryCacheMissCount(stats.getQueryCacheMissCount())
+                .queryCachePutCount(stats.getQueryCachePutCount())
+                .secondLevelCacheHitCount(stats.getSecondLevelCacheHitCount())
+                .secondLevelCacheMissCount(stats.getSecondLevelCacheMissCount())
+                .optimisticFailureCount(stats.getOptimisticFailureCount())
+                .slowQueryCount(slowQueryLog.count())
+                .slowestQueries(slowQueryLog.slowest())
+                .recentSlowQueries(slowQueryLog.recent())
+                .build();
+        return ResponseEntity.ok(dto);
+    }
+    
+    /**
+     * POST /admin/persistence-stats/reset
+     * Reset the Hibernate statistics and clear the slow query log
+     */
+    @PostMapping("/persistence-stats/reset")
+    public ResponseEntity<Void> resetPersistenceStats() {
+        log.debug("REST request to reset persistence statistics");
+        hibernateStatistics().clear();
+        slowQueryLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+    
+    private Statistics hibernateStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -15,7 +15,8 @@ import java.util.List;
  * AnalyticsController - REST API Endpoints for Performance Analytics
  * 
  * Provides endpoints for bookstore performance metrics:
- * - GET /api/analytics/summary - Get complete performance summary
+ * - GET /api/analytics/summary?limit= - Get complete performance summary
+ * - GET /api/analytics/top-books?limit= - Get the top selling books
  * - GET /api/analytics/revenue?startDate=&endDate= - Get revenue by date range
  * 
  * Interview Points:
@@ -40,24 +41,26 @@ public class AnalyticsController {
      * - Total revenue
      * - Total number of sales
      * - Total books sold
-     * - Top selling books
+     * - Top selling books (the first `limit`, default 10)
      */
     @GetMapping("/summary")
-    public ResponseEntity<PerformanceMetricsDTO> getPerformanceSummary() {
-        log.info("REST request to get performance summary");
-        PerformanceMetricsDTO metrics = performanceAnalysisService.getPerformanceSummary();
+    public ResponseEntity<PerformanceMetricsDTO> getPerformanceSummary(
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("REST request to get performance summary");
+        PerformanceMetricsDTO metrics = performanceAnalysisService.getPerformanceSummary(limit);
         return ResponseEntity.ok(metrics);
     }
     
     /**
-     * GET /api/analytics/top-books
-     * Get top selling books (same as summary but isolated endpoint)
+     * GET /api/analytics/top-books?limit=
+     * Get the `limit` top selling books (default 10)
      */
     @GetMapping("/top-books")
-    public ResponseEntity<List<PerformanceMetricsDTO.TopBookDTO>> getTopSellingBooks() {
-        log.info("REST request to get top selling books");
-        PerformanceMetricsDTO metrics = performanceAnalysisService.getPerformanceSummary();
-        return ResponseEntity.ok(metrics.getTopSellingBooks());
+    public ResponseEntity<List<PerformanceMetricsDTO.TopBookDTO>> getTopSellingBooks(
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("REST request to get top {} selling books", limit);
+        List<PerformanceMetricsDTO.TopBookDTO> topBooks = performanceAnalysisService.getTopSellingBooks(limit);
+        return ResponseEntity.ok(topBooks);
     }
     
     /**
@@ -75,7 +78,7 @@ public class AnalyticsController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
         
-        log.info("REST request to get revenue from {} to {}", startDate, endDate);
+        log.debug("REST request to get revenue from {} to {}", startDate, endDate);
         BigDecimal revenue = performanceAnalysisService.getRevenueByDateRange(startDate, endDate);
         return ResponseEntity.ok(revenue);
     }
@@ -1,6 +1,7 @@
 package com.bookstore.controller;
 
 import com.bookstore.dto.BookDTO;
+import com.bookstore.dto.CursorPageDTO;
 import com.bookstore.dto.SaleDTO;
 import com.bookstore.service.BookService;
 import com.bookstore.service.SaleService;
@@ -16,6 +17,7 @@ import java.util.List;
  * 
  * Exposes CRUD operations via HTTP methods:
  * - GET /api/books - Get all books
+ * - GET /api/books/page?afterId=&size= - Get one keyset page of books
  * - GET /api/books/{id} - Get book by ID
  * - POST /api/books - Create new book
  * - PUT /api/books/{id} - Update book
@@ -46,18 +48,34 @@ public class BookController {
      */
     @GetMapping
     public ResponseEntity<List<BookDTO>> getAllBooks() {
-        log.info("REST request to get all books");
+        log.debug("REST request to get all books");
         List<BookDTO> books = bookService.getAllBooks();
         return ResponseEntity.ok(books);
     }
     
+    /**
+     * GET /api/books/page?afterId=&size=
+     * Get one page of books ordered by id
+     * 
+     * Pass nextAfterId from the previous response as afterId to get the next page.
+     * Example: /api/books/page?size=100, then /api/books/page?afterId=100&size=100
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<BookDTO>> getBooksPage(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int size) {
+        log.debug("REST request to get books page after id: {}, size: {}", afterId, size);
+        CursorPageDTO<BookDTO> page = bookService.getBooksPage(afterId, size);
+        return ResponseEntity.ok(page);
+    }
+    
     /**
      * GET /api/books/{id}
      * Get a specific book by ID
      */
     @GetMapping("/{id}")
     public ResponseEntity<BookDTO> getBookById(@PathVariable Long id) {
-        log.info("REST request to get book with id: {}", id);
+        log.debug("REST request to get book with id: {}", id);
         BookDTO book = bookService.getBookById(id);
         return ResponseEntity.ok(book);
     }
@@ -68,7 +86,7 @@ public class BookController {
      */
     @PostMapping
     public ResponseEntity<BookDTO> createBook(@RequestBody BookDTO bookDTO) {
-        log.info("REST request to create new book: {}", bookDTO.getTitle());
+        log.debug("REST request to create new book: {}", bookDTO.getTitle());
         BookDTO createdBook = bookService.createBook(bookDTO);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdBook);
     }
@@ -79,7 +97,7 @@ public class BookController {
      */
     @PutMapping("/{id}")
     public ResponseEntity<BookDTO> updateBook(@PathVariable Long id, @RequestBody BookDTO bookDTO) {
-        log.info("REST request to update book with id: {}", id);
+        log.debug("REST request to update book with id: {}", id);
         BookDTO updatedBook = bookService.updateBook(id, bookDTO);
         return ResponseEntity.ok(updatedBook);
     }
@@ -90,7 +108,7 @@ public class BookController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBook(@PathVariable Long id) {
-        log.info("REST request to delete book with id: {}", id);
+        log.debug("REST request to delete book with id: {}", id);
         bookService.deleteBook(id);
         return ResponseEntity.noContent().build();
     }
@@ -107,7 +125,7 @@ public class BookController {
      */
     @PostMapping("/sale")
     public ResponseEntity<SaleDTO> recordSale(@RequestBody SaleDTO saleDTO) {
-        log.info("REST request to record sale for book id: {}, quantity: {}", 
+        log.debug("REST request to record sale for book id: {}, quantity: {}", 
                 saleDTO.getBookId(), saleDTO.getQuantitySold());
         
         SaleDTO sale = saleService.createSale(saleDTO);
@@ -0,0 +1,102 @@
+package com.bookstore.controller;
+
+import com.bookstore.dto.CursorPageDTO;
+import com.bookstore.dto.SaleDTO;
+import com.bookstore.service.SaleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * SaleController - REST API Endpoints for the Sales Ledger
+ * 
+ * Exposes read access to recorded sales:
+ * - GET /api/sales?afterSaleDate=&afterId=&size= - Get one keyset page of sales (newest first)
+ * - GET /api/sales/{id} - Get sale by ID
+ * - GET /api/sales/export - Stream the whole ledger as NDJSON
+ * - POST /api/sales/bulk - Record a batch of sales in one transaction
+ * 
+ * Single sales are still recorded through POST /api/books/sale.
+ * 
+ * Interview Points:
+ * - Keyset (cursor) pagination: the client echoes back the last row's sort key
+ * - Why not Page<T>/OFFSET: deep pages and the COUNT(*) query get slower as the table grows
+ * - StreamingResponseBody: response is written on an async thread while rows are read
+ */
+@RestController
+@RequestMapping("/api/sales")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:4200")
+public class SaleController {
+    
+    private final SaleService saleService;
+    
+    /**
+     * GET /api/sales
+     * Get one page of sales, newest first
+     * 
+     * Query parameters:
+     * - afterSaleDate, afterId: cursor from the previous page (nextAfterSaleDate, nextAfterId)
+     * - size: page size (default 50)
+     * 
+     * Example: /api/sales?afterSaleDate=2024-06-01T10:15:30&afterId=4211&size=100
+     */
+    @GetMapping
+    public ResponseEntity<CursorPageDTO<SaleDTO>> getSalesPage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterSaleDate,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int size) {
+        log.debug("REST request to get sales page after ({}, {}), size: {}", afterSaleDate, afterId, size);
+        CursorPageDTO<SaleDTO> page = saleService.getSalesPage(afterSaleDate, afterId, size);
+        return ResponseEntity.ok(page);
+    }
+    
+    /**
+     * GET /api/sales/export
+     * Stream every sale as newline-delimited JSON (application/x-ndjson)
+     * 
+     * Meant for bulk consumers such as the finance job: the first line is sent
+     * as soon as the first row is read, and heap use stays flat for any ledger size.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSales() {
+        log.debug("REST request to export sales ledger");
+        StreamingResponseBody body = saleService::exportSales;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    /**
+     * POST /api/sales/bulk
+     * Record many sales at once (POS end-of-shift upload)
+     * 
+     * Body: JSON array of sales, each with bookId, quantitySold and optional saleDate.
+     * Either every sale is recorded or none is (e.g. one book out of stock).
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<SaleDTO>> recordSales(@RequestBody List<SaleDTO> saleDTOs) {
+        log.debug("REST request to record {} sales in bulk", saleDTOs.size());
+        List<SaleDTO> sales = saleService.createSales(saleDTOs);
+        return ResponseEntity.status(HttpStatus.CREATED).body(sales);
+    }
+    
+    /**
+     * GET /api/sales/{id}
+     * Get a specific sale by ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<SaleDTO> getSaleById(@PathVariable Long id) {
+        log.debug("REST request to get sale with id: {}", id);
+        SaleDTO sale = saleService.getSaleById(id);
+        return ResponseEntity.ok(sale);
+    }
+}
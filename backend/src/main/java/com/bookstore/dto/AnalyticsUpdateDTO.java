@@ -0,0 +1,57 @@
+package com.bookstore.dto;
+
+import com.bookstore.dto.PerformanceMetricsDTO.TopBookDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * AnalyticsUpdateDTO - Live analytics change pushed on /topic/analytics
+ * 
+ * Carries the current totals (a client that missed a message is correct again
+ * with the next one), the change since the previous push, only the
+ * top-book ranks that changed, and how many ranks there are now.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsUpdateDTO {
+    
+    private LocalDateTime generatedAt;
+    
+    private BigDecimal totalRevenue;
+    private Long totalSales;
+    private Long totalBooksSold;
+    
+    /**
+     * Change since the previous push (zero on the first push)
+     */
+    private BigDecimal revenueDelta;
+    private Long salesDelta;
+    private Long booksSoldDelta;
+    
+    /**
+     * Top-book ranks whose book or counters changed since the previous push
+     */
+    private List<RankedTopBookDTO> changedTopBooks;
+    
+    /**
+     * Length of the current top-book list; ranks beyond it no longer exist
+     * (e.g. after a book was deleted and fewer books have sales)
+     */
+    private Integer topBooksCount;
+    
+    /**
+     * A top selling book at its 1-based rank
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RankedTopBookDTO {
+        private Integer rank;
+        private TopBookDTO book;
+    }
+}
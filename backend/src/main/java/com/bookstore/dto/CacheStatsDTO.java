@@ -0,0 +1,26 @@
+package com.bookstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * CacheStatsDTO - Data Transfer Object for cache statistics
+ * 
+ * Counters are cumulative since application start
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsDTO {
+    private String name;
+    private Long size;
+    private Long hitCount;
+    private Long missCount;
+    private Double hitRate;
+    private Long loadCount;
+    private Double averageLoadPenaltyMillis;
+    private Long evictionCount;
+}
@@ -0,0 +1,49 @@
+package com.bookstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * CursorPageDTO - One page of a keyset (cursor) paginated listing
+ * 
+ * Instead of a page number, the client sends back the cursor of the last row
+ * it received (nextAfterId / nextAfterSaleDate) to get the following page.
+ * 
+ * Interview Points:
+ * - Keyset vs offset paging: OFFSET n still reads and discards n rows,
+ *   a keyset predicate (WHERE id > :lastId) seeks straight into the index
+ * - Generic DTO reused by books and sales listings
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    
+    /**
+     * Rows of this page, in listing order
+     */
+    private List<T> content;
+    
+    /**
+     * Number of rows in this page
+     */
+    private int size;
+    
+    /**
+     * Whether another page exists after this one
+     */
+    private boolean hasNext;
+    
+    /**
+     * Cursor for the next page: id of the last row (null when there is no next page)
+     */
+    private Long nextAfterId;
+    
+    /**
+     * Cursor for the next page: saleDate of the last row (sales listing only)
+     */
+    private LocalDateTime nextAfterSaleDate;
+}
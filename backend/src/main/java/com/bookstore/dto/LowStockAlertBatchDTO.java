@@ -0,0 +1,43 @@
+package com.bookstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * LowStockAlertBatchDTO - One message on /topic/low-stock
+ * 
+ * Alerts collected during one publisher tick are sent together,
+ * at most one per book
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockAlertBatchDTO {
+    
+    /**
+     * When the batch was published
+     */
+    private LocalDateTime generatedAt;
+    
+    /**
+     * Alerts in this batch
+     */
+    private List<LowStockAlertDTO> alerts;
+    
+    /**
+     * Inner class for one book running low
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LowStockAlertDTO {
+        private Long bookId;
+        private String title;
+        private String author;
+        private Integer stockQuantity;
+        private String message;  // Human readable text for notifications
+    }
+}
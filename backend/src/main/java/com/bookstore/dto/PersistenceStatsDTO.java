@@ -0,0 +1,60 @@
+package com.bookstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * PersistenceStatsDTO - Hibernate statistics and the slow statements
+ * 
+ * Counters are cumulative since application start (or the last reset)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PersistenceStatsDTO {
+    private Long sessionOpenCount;
+    private Long transactionCount;
+    private Long flushCount;
+    private Long prepareStatementCount;
+    
+    private Long entityLoadCount;
+    private Long entityFetchCount;
+    private Long entityInsertCount;
+    private Long entityUpdateCount;
+    private Long entityDeleteCount;
+    private Long collectionFetchCount;
+    
+    private Long queryExecutionCount;
+    private Long queryExecutionMaxTimeMillis;
+    private String queryExecutionMaxTimeQueryString;
+    private Long queryCacheHitCount;
+    private Long queryCacheMissCount;
+    private Long queryCachePutCount;
+    private Long secondLevelCacheHitCount;
+    private Long secondLevelCacheMissCount;
+    private Long optimisticFailureCount;
+    
+    private Long slowQueryCount;
+    private List<SlowQueryDTO> slowestQueries;
+    private List<SlowQueryDTO> recentSlowQueries;
+    
+    /**
+     * One statement above the slow query threshold
+     * (bind shape = parameter types, e.g. "(Long, Integer)"; values are not kept)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SlowQueryDTO {
+        private String sql;
+        private String bindShape;
+        private Double durationMillis;
+        private LocalDateTime executedAt;
+        private String thread;
+    }
+}
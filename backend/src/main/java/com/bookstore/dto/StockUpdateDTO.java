@@ -0,0 +1,21 @@
+package com.bookstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * StockUpdateDTO - Stock change pushed to WebSocket clients on /topic/stock/{bookId}
+ * 
+ * Deliberately small (no title, price, ...): clients already have the book
+ * and only patch its stock. change is the difference to the previous stock
+ * (negative for sales).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockUpdateDTO {
+    private Long bookId;
+    private Integer stockQuantity;
+    private Integer change;
+}
@@ -0,0 +1,47 @@
+package com.bookstore.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+/**
+ * BookSalesStats Entity - Running sales counters for one book
+ * 
+ * One row per book that has ever sold, incremented with every sale.
+ * Top-selling queries read this small table (indexed on unitsSold)
+ * instead of grouping the whole sales ledger.
+ */
+@Entity
+@Table(name = "book_sales_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSalesStats {
+    
+    /**
+     * The book these counters belong to (same value as books.id)
+     */
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+    
+    /**
+     * Sum of quantitySold over the book's sales
+     */
+    @Column(nullable = false)
+    private Long unitsSold;
+    
+    /**
+     * Number of sale transactions for the book
+     */
+    @Column(nullable = false)
+    private Long saleCount;
+    
+    /**
+     * Sum of totalAmount over the book's sales
+     */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+}
@@ -0,0 +1,54 @@
+package com.bookstore.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import java.time.LocalDateTime;
+
+/**
+ * OutboxEvent Entity - A broker message waiting to be relayed
+ * 
+ * Rows are inserted in the same transaction as the sale / stock change they
+ * describe, so a message exists if and only if the change committed.
+ * OutboxRelayJob sends them to the STOMP broker and deletes them.
+ * 
+ * Interview Points:
+ * - Transactional outbox pattern: no dual write between database and broker
+ * - At-least-once delivery: a crash after sending but before the delete resends
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    
+    /**
+     * Primary key - generated from the outbox_events_seq sequence (batched inserts)
+     * Also the relay order
+     */
+    @Id
+    @GeneratedValue(generator = "outbox_events_seq")
+    @GenericGenerator(name = "outbox_events_seq", type = PooledSequenceIdGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "outbox_events_seq"))
+    private Long id;
+    
+    /**
+     * Broker destination, e.g. /topic/sales
+     */
+    @Column(nullable = false)
+    private String destination;
+    
+    /**
+     * Message body, already serialized as JSON
+     */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -26,10 +29,19 @@ import java.time.LocalDateTime;
 public class Sale {
     
     /**
-     * Primary key - auto-generated
+     * Primary key - generated from the sales_seq sequence
+     * 
+     * SEQUENCE (not IDENTITY) lets Hibernate know the id before the INSERT, so
+     * inserts can be JDBC-batched; each nextval call reserves a block of ids
+     * (allocation size is configurable, see PooledSequenceIdGenerator)
+     * 
+     * The table is partitioned by month of saleDate, so the database primary key
+     * is (id, sale_date); id alone is still unique (one sequence)
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "sales_seq")
+    @GenericGenerator(name = "sales_seq", type = PooledSequenceIdGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "sales_seq"))
     private Long id;
     
     /**
@@ -0,0 +1,43 @@
+package com.bookstore.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * SalesHourlyRollup Entity - Sales totals for one hour
+ * 
+ * One row per hour that had sales, keyed by the start of the hour and updated
+ * with every sale. Date-range revenue sums whole hours from here and only reads
+ * raw sales for the partial hours at the edges of the range.
+ * 
+ * Interview Points:
+ * - Time-bucketed rollups: a yearly query reads at most 8,760 rows
+ * - Why buckets are keyed by their start (half-open interval [start, start + 1h))
+ */
+@Entity
+@Table(name = "sales_hourly_rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesHourlyRollup {
+    
+    /**
+     * Start of the hour (sales with bucketStart <= saleDate < bucketStart + 1h)
+     */
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+    
+    @Column(nullable = false)
+    private Long saleCount;
+    
+    @Column(nullable = false)
+    private Long unitsSold;
+}
@@ -0,0 +1,53 @@
+package com.bookstore.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+/**
+ * SalesSummary Entity - Running totals over the whole sales ledger
+ * 
+ * A single row (id = 1) that is incremented in the same transaction as every
+ * sale, so the dashboard reads totals by primary key instead of running
+ * SUM/COUNT over the sales table. Rebuilt from the ledger by the
+ * reconciliation job (see SalesAggregateService).
+ * 
+ * Interview Points:
+ * - Materialized aggregates: trade a little write work for O(1) reads
+ * - Why the ledger (sales) stays the source of truth
+ */
+@Entity
+@Table(name = "sales_summary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesSummary {
+    
+    /**
+     * Id of the only row
+     */
+    public static final int SINGLETON_ID = 1;
+    
+    @Id
+    private Integer id;
+    
+    /**
+     * Sum of totalAmount over all sales
+     */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalRevenue;
+    
+    /**
+     * Number of sale transactions
+     */
+    @Column(nullable = false)
+    private Long totalSales;
+    
+    /**
+     * Sum of quantitySold over all sales
+     */
+    @Column(nullable = false)
+    private Long totalBooksSold;
+}
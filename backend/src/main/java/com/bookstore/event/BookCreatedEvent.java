@@ -0,0 +1,14 @@
+package com.bookstore.event;
+
+import com.bookstore.dto.BookDTO;
+import lombok.Value;
+
+/**
+ * BookCreatedEvent - A new book was added to the inventory
+ * 
+ * Published by BookService; listeners run after the transaction commits.
+ */
+@Value
+public class BookCreatedEvent {
+    BookDTO book;
+}
@@ -0,0 +1,14 @@
+package com.bookstore.event;
+
+import lombok.Value;
+
+/**
+ * BookDeletedEvent - A book was removed from the inventory
+ * 
+ * Published by BookService; listeners run after the transaction commits.
+ * Its sales and per-book counters stay (the ledger is not rewritten).
+ */
+@Value
+public class BookDeletedEvent {
+    Long bookId;
+}
@@ -0,0 +1,22 @@
+package com.bookstore.event;
+
+import com.bookstore.dto.SaleDTO;
+import com.bookstore.entity.BookSalesStats;
+import lombok.Value;
+import java.util.List;
+
+/**
+ * SaleRecordedEvent - One or more sales were recorded in one transaction
+ * 
+ * Published by SaleService (one event per createSale / createSales call).
+ * Listeners run after the transaction commits.
+ * 
+ * bookStats holds each sold book's cumulative counters as committed by this
+ * transaction (absolute values, not deltas), so listeners can apply them in
+ * any order and more than once.
+ */
+@Value
+public class SaleRecordedEvent {
+    List<SaleDTO> sales;
+    List<BookSalesStats> bookStats;
+}
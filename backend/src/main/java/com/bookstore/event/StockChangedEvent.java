@@ -0,0 +1,26 @@
+package com.bookstore.event;
+
+import lombok.Value;
+
+/**
+ * StockChangedEvent - The stock quantity of a book changed
+ * 
+ * Published by BookService for sales (negative change) and book updates.
+ * Listeners run after the transaction commits.
+ */
+@Value
+public class StockChangedEvent {
+    Long bookId;
+    String title;
+    String author;
+    
+    /**
+     * Stock after the change
+     */
+    int stockQuantity;
+    
+    /**
+     * Difference to the previous stock (negative for sales)
+     */
+    int change;
+}
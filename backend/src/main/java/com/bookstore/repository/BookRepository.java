@@ -1,8 +1,13 @@
 package com.bookstore.repository;
 
 import com.bookstore.entity.Book;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -30,4 +35,26 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * Check if a book exists by ISBN
      */
     boolean existsByIsbn(String isbn);
+    
+    /**
+     * Atomically take stock for a sale
+     * 
+     * The stock check and the decrement happen in one UPDATE statement, so two
+     * concurrent checkouts can neither lose an update nor oversell: the row lock
+     * makes the second UPDATE re-check the condition against the committed stock.
+     * 
+     * @return number of rows updated - 0 when the book does not exist or has too little stock
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.stockQuantity = b.stockQuantity - :quantity " +
+           "WHERE b.id = :id AND b.stockQuantity >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    /**
+     * Keyset page of books ordered by id
+     * Seeks past the last seen id instead of using OFFSET, so deep pages stay fast
+     * (Pageable only supplies the LIMIT here)
+     */
+    @Query("SELECT b FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<Book> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
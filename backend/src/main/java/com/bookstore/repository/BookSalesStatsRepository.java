@@ -0,0 +1,111 @@
+package com.bookstore.repository;
+
+import com.bookstore.dto.PerformanceMetricsDTO.TopBookDTO;
+import com.bookstore.entity.BookSalesStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * BookSalesStatsRepository - Data Access Layer for per-book sales counters
+ */
+@Repository
+public interface BookSalesStatsRepository extends JpaRepository<BookSalesStats, Long> {
+    
+    /**
+     * Add sales of one book to its counters (creates the row on the book's first sale)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO book_sales_stats (book_id, units_sold, sale_count, revenue) " +
+                   "VALUES (:bookId, :units, :sales, :revenue) " +
+                   "ON CONFLICT (book_id) DO UPDATE SET " +
+                   "units_sold = book_sales_stats.units_sold + EXCLUDED.units_sold, " +
+                   "sale_count = book_sales_stats.sale_count + EXCLUDED.sale_count, " +
+                   "revenue = book_sales_stats.revenue + EXCLUDED.revenue",
+           nativeQuery = true)
+    int addSales(@Param("bookId") Long bookId,
+                 @Param("units") long units,
+                 @Param("sales") long sales,
+                 @Param("revenue") BigDecimal revenue);
+    
+    /**
+     * Current counters of the given books, as detached copies
+     * 
+     * Read in the sale transaction right after addSales: the rows are locked by
+     * that update, so these are exactly the totals this transaction commits.
+     */
+    @Query("SELECT new com.bookstore.entity.BookSalesStats(st.bookId, st.unitsSold, st.saleCount, st.revenue) " +
+           "FROM BookSalesStats st WHERE st.bookId IN :bookIds ORDER BY st.bookId")
+    List<BookSalesStats> findCounters(@Param("bookIds") Collection<Long> bookIds);
+    
+    /**
+     * Top k selling books read from the counters, joined with book details
+     * The Pageable becomes a LIMIT, served from the units_sold index
+     */
+    @Query("SELECT new com.bookstore.dto.PerformanceMetricsDTO$TopBookDTO " +
+           "(b.id, b.title, b.author, st.unitsSold, st.revenue) " +
+           "FROM BookSalesStats st JOIN Book b ON st.bookId = b.id " +
+           "ORDER BY st.unitsSold DESC, st.bookId")
+    List<TopBookDTO> findTopSellingBooks(Pageable pageable);
+    
+    /**
+     * Counters of the top k books by units sold (seeds the in-memory top-K)
+     * Deleted books are skipped, like in findTopSellingBooks
+     */
+    @Query("SELECT st FROM BookSalesStats st JOIN Book b ON st.bookId = b.id " +
+           "ORDER BY st.unitsSold DESC, st.bookId")
+    List<BookSalesStats> findTopByUnitsSold(Pageable pageable);
+    
+    /**
+     * Corrections of all counters (rebuild step 1): ledger plus detached counters,
+     * minus the current counters, for the books that differ
+     * 
+     * One statement, so the ledger and the counters are read in the same snapshot.
+     * Kept in a temporary table until commit; nothing is locked.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "CREATE TEMP TABLE book_sales_stats_drift ON COMMIT DROP AS " +
+                   "SELECT book_id, SUM(units_sold) AS units_sold, SUM(sale_count) AS sale_count, " +
+                   "SUM(revenue) AS revenue FROM (" +
+                   "SELECT book_id, SUM(quantity_sold) AS units_sold, COUNT(*) AS sale_count, " +
+                   "SUM(total_amount) AS revenue FROM sales GROUP BY book_id " +
+                   "UNION ALL " +
+                   "SELECT book_id, units_sold, sale_count, revenue FROM book_sales_stats_detached " +
+                   "UNION ALL " +
+                   "SELECT book_id, -units_sold, -sale_count, -revenue FROM book_sales_stats" +
+                   ") counters GROUP BY book_id " +
+                   "HAVING SUM(units_sold) <> 0 OR SUM(sale_count) <> 0 OR SUM(revenue) <> 0",
+           nativeQuery = true)
+    void stageRebuild();
+    
+    /**
+     * Add the staged corrections (rebuild step 2), in book id order like addSales callers
+     * 
+     * Sales committed since step 1 are already in the counters and stay counted.
+     * 
+     * @return number of books corrected
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "INSERT INTO book_sales_stats (book_id, units_sold, sale_count, revenue) " +
+                   "SELECT book_id, units_sold, sale_count, revenue FROM book_sales_stats_drift " +
+                   "ORDER BY book_id " +
+                   "ON CONFLICT (book_id) DO UPDATE SET " +
+                   "units_sold = book_sales_stats.units_sold + EXCLUDED.units_sold, " +
+                   "sale_count = book_sales_stats.sale_count + EXCLUDED.sale_count, " +
+                   "revenue = book_sales_stats.revenue + EXCLUDED.revenue",
+           nativeQuery = true)
+    int applyRebuild();
+    
+    /**
+     * Remove counters corrected down to no sales (rebuild step 3)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM book_sales_stats WHERE sale_count = 0", nativeQuery = true)
+    int deleteEmptyCounters();
+}
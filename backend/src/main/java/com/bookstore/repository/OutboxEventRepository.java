@@ -0,0 +1,25 @@
+package com.bookstore.repository;
+
+import com.bookstore.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+/**
+ * OutboxEventRepository - Data Access Layer for the transactional outbox
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    /**
+     * Lock the oldest pending messages
+     * 
+     * SKIP LOCKED: rows claimed by another relay (another instance) are skipped
+     * instead of waited for, so several relays can drain the table in parallel.
+     */
+    @Query(value = "SELECT * FROM outbox_events ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+}
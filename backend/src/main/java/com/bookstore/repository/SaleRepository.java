@@ -1,14 +1,20 @@
 package com.bookstore.repository;
 
 import com.bookstore.entity.Sale;
+import com.bookstore.dto.SaleDTO;
 import com.bookstore.dto.PerformanceMetricsDTO.TopBookDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * SaleRepository - Data Access Layer for Sale Entity
@@ -24,6 +30,63 @@ import java.util.List;
 @Repository
 public interface SaleRepository extends JpaRepository<Sale, Long> {
     
+    /**
+     * Get all sales together with their book titles in a single query
+     * 
+     * LEFT JOIN keeps sales whose book has been deleted ("Unknown Book"),
+     * and the constructor expression avoids loading a Book per sale (N+1)
+     */
+    @Query("SELECT new com.bookstore.dto.SaleDTO " +
+           "(s.id, s.bookId, COALESCE(b.title, 'Unknown Book'), s.quantitySold, s.saleDate, s.totalAmount) " +
+           "FROM Sale s LEFT JOIN Book b ON s.bookId = b.id " +
+           "ORDER BY s.id")
+    List<SaleDTO> findAllWithBookTitle();
+    
+    /**
+     * Stream every sale with its book title, for the NDJSON ledger export
+     * 
+     * - Fetch size makes the PostgreSQL driver use a cursor and pull rows in chunks
+     *   instead of buffering the whole result set (needs an open transaction)
+     * - DTO projection rows are not managed entities, so the persistence context
+     *   does not grow while the stream is consumed
+     * - The caller must close the stream (try-with-resources)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.bookstore.dto.SaleDTO " +
+           "(s.id, s.bookId, COALESCE(b.title, 'Unknown Book'), s.quantitySold, s.saleDate, s.totalAmount) " +
+           "FROM Sale s LEFT JOIN Book b ON s.bookId = b.id " +
+           "ORDER BY s.id")
+    Stream<SaleDTO> streamAllWithBookTitle();
+    
+    /**
+     * First keyset page of sales, newest first, with book titles
+     */
+    @Query("SELECT new com.bookstore.dto.SaleDTO " +
+           "(s.id, s.bookId, COALESCE(b.title, 'Unknown Book'), s.quantitySold, s.saleDate, s.totalAmount) " +
+           "FROM Sale s LEFT JOIN Book b ON s.bookId = b.id " +
+           "ORDER BY s.saleDate DESC, s.id DESC")
+    List<SaleDTO> findFirstPageWithBookTitle(Pageable pageable);
+    
+    /**
+     * Next keyset page of sales, newest first, with book titles
+     * 
+     * Continues right after the last (saleDate, id) of the previous page; id breaks
+     * ties between sales with the same timestamp. The leading saleDate <= bound
+     * lets the database seek an index on sale_date instead of scanning.
+     */
+    @Query("SELECT new com.bookstore.dto.SaleDTO " +
+           "(s.id, s.bookId, COALESCE(b.title, 'Unknown Book'), s.quantitySold, s.saleDate, s.totalAmount) " +
+           "FROM Sale s LEFT JOIN Book b ON s.bookId = b.id " +
+           "WHERE s.saleDate <= :afterSaleDate " +
+           "AND (s.saleDate < :afterSaleDate OR s.id < :afterId) " +
+           "ORDER BY s.saleDate DESC, s.id DESC")
+    List<SaleDTO> findPageAfterWithBookTitle(@Param("afterSaleDate") LocalDateTime afterSaleDate,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
+    
     /**
      * Get total revenue from all sales
      */
@@ -43,14 +106,15 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
     Long getTotalBooksSold();
     
     /**
-     * Get top selling books by quantity with book details
+     * Get top k selling books by quantity with book details, computed from the ledger
+     * The Pageable limit is pushed down into the query (LIMIT k)
      */
     @Query("SELECT new com.bookstore.dto.PerformanceMetricsDTO$TopBookDTO " +
            "(b.id, b.title, b.author, SUM(s.quantitySold), SUM(s.totalAmount)) " +
            "FROM Sale s JOIN Book b ON s.bookId = b.id " +
            "GROUP BY b.id, b.title, b.author " +
            "ORDER BY SUM(s.quantitySold) DESC")
-    List<TopBookDTO> findTopSellingBooks();
+    List<TopBookDTO> findTopSellingBooks(Pageable pageable);
     
     /**
      * Get sales by date range
@@ -60,7 +124,14 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
                                    @Param("endDate") LocalDateTime endDate);
     
     /**
-     * Get total revenue by date range
+     * Get total revenue for from <= saleDate < to (partial hour before the first rollup bucket)
+     */
+    @Query("SELECT COALESCE(SUM(s.totalAmount), 0) FROM Sale s WHERE s.saleDate >= :from AND s.saleDate < :to")
+    BigDecimal getRevenueFromUntil(@Param("from") LocalDateTime from, 
+                                   @Param("to") LocalDateTime to);
+    
+    /**
+     * Get total revenue by date range (both ends inclusive)
      */
     @Query("SELECT COALESCE(SUM(s.totalAmount), 0) FROM Sale s WHERE s.saleDate BETWEEN :startDate AND :endDate")
     BigDecimal getRevenueByDateRange(@Param("startDate") LocalDateTime startDate, 
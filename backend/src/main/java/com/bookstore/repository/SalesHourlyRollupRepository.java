@@ -0,0 +1,88 @@
+package com.bookstore.repository;
+
+import com.bookstore.entity.SalesHourlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * SalesHourlyRollupRepository - Data Access Layer for hourly sales buckets
+ */
+@Repository
+public interface SalesHourlyRollupRepository extends JpaRepository<SalesHourlyRollup, LocalDateTime> {
+    
+    /**
+     * Add sales to one hourly bucket (creates the bucket on its first sale)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO sales_hourly_rollup (bucket_start, revenue, sale_count, units_sold) " +
+                   "VALUES (:bucketStart, :revenue, :sales, :units) " +
+                   "ON CONFLICT (bucket_start) DO UPDATE SET " +
+                   "revenue = sales_hourly_rollup.revenue + EXCLUDED.revenue, " +
+                   "sale_count = sales_hourly_rollup.sale_count + EXCLUDED.sale_count, " +
+                   "units_sold = sales_hourly_rollup.units_sold + EXCLUDED.units_sold",
+           nativeQuery = true)
+    int addSales(@Param("bucketStart") LocalDateTime bucketStart,
+                 @Param("revenue") BigDecimal revenue,
+                 @Param("sales") long sales,
+                 @Param("units") long units);
+    
+    /**
+     * Revenue of all whole buckets starting in [from, to)
+     */
+    @Query("SELECT COALESCE(SUM(r.revenue), 0) FROM SalesHourlyRollup r " +
+           "WHERE r.bucketStart >= :from AND r.bucketStart < :to")
+    BigDecimal sumRevenue(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    /**
+     * Corrections of all buckets (rebuild step 1): ledger plus detached buckets,
+     * minus the current buckets, for the buckets that differ
+     * 
+     * One statement, so the ledger and the buckets are read in the same snapshot.
+     * Kept in a temporary table until commit; nothing is locked.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "CREATE TEMP TABLE sales_hourly_rollup_drift ON COMMIT DROP AS " +
+                   "SELECT bucket_start, SUM(revenue) AS revenue, SUM(sale_count) AS sale_count, " +
+                   "SUM(units_sold) AS units_sold FROM (" +
+                   "SELECT date_trunc('hour', sale_date) AS bucket_start, SUM(total_amount) AS revenue, " +
+                   "COUNT(*) AS sale_count, SUM(quantity_sold) AS units_sold " +
+                   "FROM sales GROUP BY date_trunc('hour', sale_date) " +
+                   "UNION ALL " +
+                   "SELECT bucket_start, revenue, sale_count, units_sold FROM sales_hourly_rollup_detached " +
+                   "UNION ALL " +
+                   "SELECT bucket_start, -revenue, -sale_count, -units_sold FROM sales_hourly_rollup" +
+                   ") buckets GROUP BY bucket_start " +
+                   "HAVING SUM(revenue) <> 0 OR SUM(sale_count) <> 0 OR SUM(units_sold) <> 0",
+           nativeQuery = true)
+    void stageRebuild();
+    
+    /**
+     * Add the staged corrections (rebuild step 2), in bucket order like addSales callers
+     * 
+     * Sales committed since step 1 are already in the buckets and stay counted.
+     * 
+     * @return number of buckets corrected
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "INSERT INTO sales_hourly_rollup (bucket_start, revenue, sale_count, units_sold) " +
+                   "SELECT bucket_start, revenue, sale_count, units_sold FROM sales_hourly_rollup_drift " +
+                   "ORDER BY bucket_start " +
+                   "ON CONFLICT (bucket_start) DO UPDATE SET " +
+                   "revenue = sales_hourly_rollup.revenue + EXCLUDED.revenue, " +
+                   "sale_count = sales_hourly_rollup.sale_count + EXCLUDED.sale_count, " +
+                   "units_sold = sales_hourly_rollup.units_sold + EXCLUDED.units_sold",
+           nativeQuery = true)
+    int applyRebuild();
+    
+    /**
+     * Remove buckets corrected down to no sales (rebuild step 3)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM sales_hourly_rollup WHERE sale_count = 0", nativeQuery = true)
+    int deleteEmptyBuckets();
+}
@@ -0,0 +1,76 @@
+package com.bookstore.repository;
+
+import com.bookstore.entity.SalesSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+
+/**
+ * SalesSummaryRepository - Data Access Layer for the running sales totals
+ * 
+ * Native PostgreSQL upserts (INSERT ... ON CONFLICT) add to the totals in a
+ * single statement, without reading the row first.
+ */
+@Repository
+public interface SalesSummaryRepository extends JpaRepository<SalesSummary, Integer> {
+    
+    /**
+     * Add sales to the running totals (creates the row on first use)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO sales_summary (id, total_revenue, total_sales, total_books_sold) " +
+                   "VALUES (1, :revenue, :sales, :units) " +
+                   "ON CONFLICT (id) DO UPDATE SET " +
+                   "total_revenue = sales_summary.total_revenue + EXCLUDED.total_revenue, " +
+                   "total_sales = sales_summary.total_sales + EXCLUDED.total_sales, " +
+                   "total_books_sold = sales_summary.total_books_sold + EXCLUDED.total_books_sold",
+           nativeQuery = true)
+    int addSales(@Param("revenue") BigDecimal revenue,
+                 @Param("sales") long sales,
+                 @Param("units") long units);
+    
+    /**
+     * Correction of the totals (rebuild step 1): ledger plus detached buckets,
+     * minus the current totals
+     * 
+     * One statement, so the ledger and the totals are read in the same snapshot.
+     * Kept in a temporary table until commit; nothing is locked.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "CREATE TEMP TABLE sales_summary_drift ON COMMIT DROP AS " +
+                   "SELECT COALESCE(SUM(revenue), 0) AS revenue, COALESCE(SUM(sale_count), 0) AS sale_count, " +
+                   "COALESCE(SUM(units_sold), 0) AS units_sold FROM (" +
+                   "SELECT SUM(total_amount) AS revenue, COUNT(*) AS sale_count, " +
+                   "SUM(quantity_sold) AS units_sold FROM sales " +
+                   "UNION ALL " +
+                   "SELECT SUM(revenue), SUM(sale_count), SUM(units_sold) FROM sales_hourly_rollup_detached " +
+                   "UNION ALL " +
+                   "SELECT -total_revenue, -total_sales, -total_books_sold FROM sales_summary" +
+                   ") totals",
+           nativeQuery = true)
+    void stageRebuild();
+    
+    /**
+     * Add the staged correction (rebuild step 2)
+     * 
+     * Only locks the totals row if there is something to correct (or the row
+     * does not exist yet). Sales committed since step 1 are already in the
+     * totals and stay counted.
+     * 
+     * @return 1 if the totals were corrected or created
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "INSERT INTO sales_summary (id, total_revenue, total_sales, total_books_sold) " +
+                   "SELECT 1, revenue, sale_count, units_sold FROM sales_summary_drift " +
+                   "WHERE revenue <> 0 OR sale_count <> 0 OR units_sold <> 0 " +
+                   "OR NOT EXISTS (SELECT 1 FROM sales_summary) " +
+                   "ON CONFLICT (id) DO UPDATE SET " +
+                   "total_revenue = sales_summary.total_revenue + EXCLUDED.total_revenue, " +
+                   "total_sales = sales_summary.total_sales + EXCLUDED.total_sales, " +
+                   "total_books_sold = sales_summary.total_books_sold + EXCLUDED.total_books_sold",
+           nativeQuery = true)
+    int applyRebuild();
+}
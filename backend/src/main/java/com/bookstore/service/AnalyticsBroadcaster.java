@@ -0,0 +1,123 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.AnalyticsUpdateDTO;
+import com.bookstore.dto.AnalyticsUpdateDTO.RankedTopBookDTO;
+import com.bookstore.dto.PerformanceMetricsDTO.TopBookDTO;
+import com.bookstore.entity.BookSalesStats;
+import com.bookstore.entity.SalesSummary;
+import com.bookstore.event.SaleRecordedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * AnalyticsBroadcaster - Throttled live analytics on /topic/analytics
+ * 
+ * Committed sales only mark the analytics as changed. At most once per push
+ * interval a tick reads the totals row and the top books once and broadcasts
+ * the difference to every dashboard, so N dashboards cost one computation
+ * instead of N summary requests.
+ * 
+ * The top-K tracker is updated asynchronously after commit, so each tick also
+ * compares the tracker's current ranking with the last one pushed; a late
+ * update is picked up by the next tick.
+ * 
+ * Interview Points:
+ * - Push vs poll: work proportional to changes, not to the number of clients
+ * - Throttling: bursts of sales collapse into one message per interval
+ */
+@Component
+@Slf4j
+public class AnalyticsBroadcaster {
+    
+    private static final String ANALYTICS_TOPIC = "/topic/analytics";
+    
+    private final SalesAggregateService salesAggregateService;
+    private final PerformanceAnalysisService performanceAnalysisService;
+    private final TopSellersTracker topSellersTracker;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int topBooks;
+    
+    private final AtomicBoolean salesChanged = new AtomicBoolean();
+    
+    // Last pushed state (only touched by the tick thread)
+    private SalesSummary lastSummary;
+    private List<TopBookDTO> lastTopBooks = List.of();
+    private List<BookSalesStats> lastRanking = List.of();
+    
+    public AnalyticsBroadcaster(SalesAggregateService salesAggregateService,
+                                PerformanceAnalysisService performanceAnalysisService,
+                                TopSellersTracker topSellersTracker,
+                                SimpMessagingTemplate messagingTemplate,
+                                @Value("${bookstore.analytics.push-top-books:10}") int topBooks) {
+        this.salesAggregateService = salesAggregateService;
+        this.performanceAnalysisService = performanceAnalysisService;
+        this.topSellersTracker = topSellersTracker;
+        this.messagingTemplate = messagingTemplate;
+        this.topBooks = topBooks;
+    }
+    
+    @TransactionalEventListener
+    public void onSaleRecorded(SaleRecordedEvent event) {
+        salesChanged.set(true);
+    }
+    
+    /**
+     * Push what changed since the previous tick (nothing when nothing changed)
+     */
+    @Scheduled(fixedDelayString = "${bookstore.analytics.push-interval-ms:1000}")
+    public void push() {
+        List<BookSalesStats> ranking = topSellersTracker.top(topBooks);
+        boolean rankingChanged = ranking != null && !ranking.equals(lastRanking);
+        if (!salesChanged.getAndSet(false) && !rankingChanged) {
+            return;
+        }
+        
+        SalesSummary summary = salesAggregateService.getSummary();
+        List<TopBookDTO> books = performanceAnalysisService.getTopSellingBooks(topBooks);
+        
+        List<RankedTopBookDTO> changedTopBooks = new ArrayList<>();
+        for (int i = 0; i < books.size(); i++) {
+            TopBookDTO book = books.get(i);
+            TopBookDTO previous = i < lastTopBooks.size() ? lastTopBooks.get(i) : null;
+            if (previous == null || !Objects.equals(previous.getBookId(), book.getBookId())
+                    || !Objects.equals(previous.getTotalQuantitySold(), book.getTotalQuantitySold())) {
+                changedTopBooks.add(new RankedTopBookDTO(i + 1, book));
+            }
+        }
+        
+        // Ranks that disappeared are not in changedTopBooks: the new length tells the client
+        boolean topBooksShrunk = books.size() < lastTopBooks.size();
+        
+        if (ranking != null) {
+            lastRanking = ranking;
+        }
+        SalesSummary previous = lastSummary != null ? lastSummary : summary;
+        if (lastSummary != null && summary.equals(previous) && changedTopBooks.isEmpty() && !topBooksShrunk) {
+            return;
+        }
+        
+        messagingTemplate.convertAndSend(ANALYTICS_TOPIC, new AnalyticsUpdateDTO(
+                LocalDateTime.now(),
+                summary.getTotalRevenue(),
+                summary.getTotalSales(),
+                summary.getTotalBooksSold(),
+                summary.getTotalRevenue().subtract(previous.getTotalRevenue()),
+                summary.getTotalSales() - previous.getTotalSales(),
+                summary.getTotalBooksSold() - previous.getTotalBooksSold(),
+                changedTopBooks,
+                books.size()));
+        log.debug("Pushed analytics update with {} changed top books", changedTopBooks.size());
+        
+        lastSummary = summary;
+        lastTopBooks = books;
+    }
+}
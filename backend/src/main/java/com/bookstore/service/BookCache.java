@@ -0,0 +1,97 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.BookDTO;
+import com.bookstore.event.BookCreatedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * BookCache - Bounded read-through cache of books by id
+ * 
+ * Caffeine evicts by size (W-TinyLFU keeps the frequently read titles) and by
+ * age (expire-after-write bounds staleness). Entries are BookDTO snapshots and
+ * must be treated as read-only by callers.
+ * 
+ * Invalidation: BookService evicts a book whenever it is updated, deleted or its
+ * stock changes. The entry is evicted right away and again after commit, so a
+ * reader that re-loads the old row before the commit cannot keep it cached.
+ * Eviction stays synchronous on purpose: an async evict would leave a window
+ * in which a committed change is still served stale. New books are put in
+ * the cache once their transaction commits (BookCreatedEvent).
+ * 
+ * Interview Points:
+ * - Read-through vs cache-aside: the loader runs only on a miss
+ * - Why cache DTOs, not entities: entities are bound to a persistence context
+ * - recordStats(): hit/miss/eviction counters for tuning the size
+ */
+@Component
+@Slf4j
+public class BookCache {
+    
+    private final Cache<Long, BookDTO> cache;
+    
+    public BookCache(@Value("${bookstore.cache.books.maximum-size:10000}") long maximumSize,
+                     @Value("${bookstore.cache.books.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        log.info("Book cache configured: maximum size {}, expire after write {}", maximumSize, expireAfterWrite);
+    }
+    
+    /**
+     * Get a book, loading it on a miss (missing books are not cached)
+     */
+    public Optional<BookDTO> get(Long id, Function<Long, BookDTO> loader) {
+        return Optional.ofNullable(cache.get(id, loader));
+    }
+    
+    /**
+     * Drop a book now and, inside a transaction, once more after commit
+     */
+    public void evict(Long id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Warm the cache with a newly created book (after commit, so never a rolled-back row)
+     */
+    @TransactionalEventListener
+    public void onBookCreated(BookCreatedEvent event) {
+        BookDTO book = event.getBook();
+        cache.put(book.getId(), book);
+    }
+    
+    /**
+     * Hit/miss/eviction counters since startup
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+    
+    /**
+     * Approximate number of cached books
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
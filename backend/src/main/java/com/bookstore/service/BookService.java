@@ -1,14 +1,20 @@
 package com.bookstore.service;
 
 import com.bookstore.dto.BookDTO;
+import com.bookstore.dto.CursorPageDTO;
 import com.bookstore.entity.Book;
+import com.bookstore.event.BookCreatedEvent;
+import com.bookstore.event.BookDeletedEvent;
+import com.bookstore.event.StockChangedEvent;
 import com.bookstore.repository.BookRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -17,7 +23,8 @@ import java.util.stream.Collectors;
  * This service handles:
  * - CRUD operations for books
  * - Conversion between Entity and DTO
- * - Triggering WebSocket alerts when stock is low
+ * - Publishing BookCreatedEvent / StockChangedEvent (low stock alerts,
+ *   live updates and other side effects are handled after commit)
  * 
  * Interview Points:
  * - @Service: Marks this as a Spring-managed bean (component for business logic)
@@ -31,10 +38,11 @@ import java.util.stream.Collectors;
 public class BookService {
     
     private final BookRepository bookRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final BookCache bookCache;
+    private final ApplicationEventPublisher eventPublisher;
     
-    // Low stock threshold - when to send alerts
-    private static final int LOW_STOCK_THRESHOLD = 5;
+    // Upper bound for a single page of the paginated listing
+    private static final int MAX_PAGE_SIZE = 500;
     
     /**
      * Get all books
@@ -48,13 +56,47 @@ public class BookService {
     }
     
     /**
-     * Get a book by ID
+     * Get one keyset page of books ordered by id
+     * 
+     * @param afterId id of the last book of the previous page (null for the first page)
+     * @param size    requested page size, clamped to 1..MAX_PAGE_SIZE
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BookDTO> getBooksPage(Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        log.debug("Fetching books page after id: {}, size: {}", afterId, pageSize);
+        
+        // Fetch one extra row to know whether a next page exists
+        List<Book> books = bookRepository.findPageAfter(
+                afterId != null ? afterId : 0L, PageRequest.of(0, pageSize + 1));
+        
+        boolean hasNext = books.size() > pageSize;
+        List<BookDTO> content = books.stream()
+                .limit(pageSize)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        Long nextAfterId = hasNext ? content.get(content.size() - 1).getId() : null;
+        
+        return new CursorPageDTO<>(content, content.size(), hasNext, nextAfterId, null);
+    }
+    
+    /**
+     * Get a book by ID (served from the book cache when possible)
      */
     public BookDTO getBookById(Long id) {
         log.debug("Fetching book with id: {}", id);
-        Book book = bookRepository.findById(id)
+        return findBook(id)
                 .orElseThrow(() -> new RuntimeException("Book not found with id: " + id));
-        return convertToDTO(book);
+    }
+    
+    /**
+     * Find a book by ID through the read-through book cache
+     * The returned DTO is shared with the cache - do not modify it
+     */
+    public Optional<BookDTO> findBook(Long id) {
+        return bookCache.get(id, bookId -> bookRepository.findById(bookId)
+                .map(this::convertToDTO)
+                .orElse(null));
     }
     
     /**
@@ -67,7 +109,9 @@ public class BookService {
         Book book = convertToEntity(bookDTO);
         Book savedBook = bookRepository.save(book);
         log.info("Book created with id: {}", savedBook.getId());
-        return convertToDTO(savedBook);
+        BookDTO result = convertToDTO(savedBook);
+        eventPublisher.publishEvent(new BookCreatedEvent(result));
+        return result;
     }
     
     /**
@@ -79,6 +123,8 @@ public class BookService {
         Book existingBook = bookRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Book not found with id: " + id));
         
+        int previousStock = existingBook.getStockQuantity();
+        
         // Update fields
         existingBook.setTitle(bookDTO.getTitle());
         existingBook.setAuthor(bookDTO.getAuthor());
@@ -87,12 +133,17 @@ public class BookService {
         existingBook.setStockQuantity(bookDTO.getStockQuantity());
         
         Book updatedBook = bookRepository.save(existingBook);
+        bookCache.evict(id);
+        if (updatedBook.getStockQuantity() != previousStock) {
+            publishStockChanged(updatedBook, updatedBook.getStockQuantity() - previousStock);
+        }
         log.info("Book updated with id: {}", updatedBook.getId());
         return convertToDTO(updatedBook);
     }
     
     /**
      * Delete a book by ID
+     * Publishes BookDeletedEvent (the top sellers ranking drops the book after commit)
      */
     @Transactional
     public void deleteBook(Long id) {
@@ -101,56 +152,58 @@ public class BookService {
             throw new RuntimeException("Book not found with id: " + id);
         }
         bookRepository.deleteById(id);
+        bookCache.evict(id);
+        eventPublisher.publishEvent(new BookDeletedEvent(id));
         log.info("Book deleted with id: {}", id);
     }
     
     /**
-     * Process a sale - reduces stock and checks for low stock alert
-     * This is called after a successful sale
+     * Process a sale - atomically reduces stock and publishes StockChangedEvent
+     * 
+     * The conditional UPDATE is the stock check: if no row was updated the book
+     * is either missing or out of stock, and the caller's transaction rolls back.
+     * 
+     * @return the book as it is after the stock reduction
      */
     @Transactional
-    public void processSale(Long bookId, int quantitySold) {
+    public Book processSale(Long bookId, int quantitySold) {
         log.debug("Processing sale for book id: {}, quantity: {}", bookId, quantitySold);
         
+        // Reduce stock only if enough is available (single UPDATE, no read-modify-write)
+        int updated = bookRepository.decrementStock(bookId, quantitySold);
+        if (updated > 0) {
+            bookCache.evict(bookId);
+        }
+        
+        // Read back the row (already locked by the UPDATE) for price, title and new stock
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new RuntimeException("Book not found with id: " + bookId));
         
-        // Reduce stock
-        int newStock = book.getStockQuantity() - quantitySold;
-        book.setStockQuantity(Math.max(0, newStock)); // Ensure stock doesn't go negative
-        bookRepository.save(book);
-        
-        // Check for low stock and send WebSocket alert
-        if (book.getStockQuantity() < LOW_STOCK_THRESHOLD) {
-            sendLowStockAlert(book);
+        if (updated == 0) {
+            throw new RuntimeException("Insufficient stock. Available: " + book.getStockQuantity() + 
+                    ", Requested: " + quantitySold);
         }
         
-        log.info("Sale processed. New stock for book {}: {}", bookId, book.getStockQuantity());
+        // Low stock alerts are raised from the event, after commit
+        publishStockChanged(book, -quantitySold);
+        
+        log.debug("Sale processed. New stock for book {}: {}", bookId, book.getStockQuantity());
+        return book;
     }
     
     /**
-     * Send low stock alert via WebSocket
-     * Uses SimpMessagingTemplate to send to /topic/low-stock
+     * Publish a stock change; listeners see it only if the transaction commits
      */
-    private void sendLowStockAlert(Book book) {
-        log.warn("LOW STOCK ALERT: Book '{}' (ID: {}) has only {} copies left!", 
-                book.getTitle(), book.getId(), book.getStockQuantity());
-        
-        // Create alert message
-        String alertMessage = String.format(
-                "Low Stock Alert: \"%s\" by %s has only %d copies remaining!", 
-                book.getTitle(), book.getAuthor(), book.getStockQuantity()
-        );
-        
-        // Send to WebSocket topic
-        messagingTemplate.convertAndSend("/topic/low-stock", alertMessage);
-        log.debug("Low stock alert sent via WebSocket");
+    private void publishStockChanged(Book book, int change) {
+        eventPublisher.publishEvent(new StockChangedEvent(
+                book.getId(), book.getTitle(), book.getAuthor(), book.getStockQuantity(), change));
     }
     
     /**
      * Convert Book entity to BookDTO
+     * (package-private for the benchmarks module)
      */
-    private BookDTO convertToDTO(Book book) {
+    BookDTO convertToDTO(Book book) {
         return new BookDTO(
                 book.getId(),
                 book.getTitle(),
@@ -163,8 +216,9 @@ public class BookService {
     
     /**
      * Convert BookDTO to Book entity
+     * (package-private for the benchmarks module)
      */
-    private Book convertToEntity(BookDTO bookDTO) {
+    Book convertToEntity(BookDTO bookDTO) {
         Book book = new Book();
         book.setTitle(bookDTO.getTitle());
         book.setAuthor(bookDTO.getAuthor());
@@ -0,0 +1,145 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.LowStockAlertBatchDTO;
+import com.bookstore.dto.LowStockAlertBatchDTO.LowStockAlertDTO;
+import com.bookstore.config.AsyncConfig;
+import com.bookstore.event.StockChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LowStockAlertPublisher - Coalesced, rate-limited low stock alerts
+ * 
+ * Committed stock changes (StockChangedEvent) only record that a book is
+ * low (cheap, on the domain event executor); a scheduled
+ * tick publishes everything collected since the last tick as ONE message
+ * on /topic/low-stock. So the broker fan-out depends on the tick rate,
+ * not on the sale rate:
+ * - coalescing: several sales of the same book in one tick -> one alert (latest stock)
+ * - dedupe: a book alerted less than dedupe-window ago is skipped, unless
+ *   its stock dropped below the last published value (e.g. it just sold out)
+ * - async: nothing is sent from inside the sale transaction
+ * 
+ * Metrics: bookstore.alerts.low_stock{stage} counts alerts raised by stock
+ * changes, published to clients and suppressed by the dedupe window
+ * (raised - published - suppressed = coalesced within a tick).
+ * 
+ * Interview Points:
+ * - Why publish after commit: a rolled-back sale must not raise an alert
+ * - ConcurrentHashMap as a lock-free "latest value per key" buffer
+ */
+@Component
+@Slf4j
+public class LowStockAlertPublisher {
+    
+    private static final String LOW_STOCK_TOPIC = "/topic/low-stock";
+    
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int threshold;
+    private final long dedupeWindowMillis;
+    private final Counter raisedAlerts;
+    private final Counter publishedAlerts;
+    private final Counter suppressedAlerts;
+    
+    // Latest alert per book since the last tick
+    private final Map<Long, LowStockAlertDTO> pending = new ConcurrentHashMap<>();
+    
+    // When each book was last published, and at which stock (only touched by the tick thread)
+    private final Map<Long, SentAlert> lastSent = new ConcurrentHashMap<>();
+    
+    public LowStockAlertPublisher(SimpMessagingTemplate messagingTemplate,
+                                  @Value("${bookstore.alerts.low-stock.threshold:5}") int threshold,
+                                  @Value("${bookstore.alerts.low-stock.dedupe-window:5m}") Duration dedupeWindow,
+                                  MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.threshold = threshold;
+        this.dedupeWindowMillis = dedupeWindow.toMillis();
+        this.raisedAlerts = createCounter(meterRegistry, "raised");
+        this.publishedAlerts = createCounter(meterRegistry, "published");
+        this.suppressedAlerts = createCounter(meterRegistry, "suppressed");
+    }
+    
+    private static Counter createCounter(MeterRegistry meterRegistry, String stage) {
+        return Counter.builder("bookstore.alerts.low_stock")
+                .description("Low stock alerts by stage")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Queue a low stock alert when a committed change leaves the book below the threshold
+     */
+    @Async(AsyncConfig.DOMAIN_EVENT_EXECUTOR)
+    @TransactionalEventListener
+    public void onStockChanged(StockChangedEvent event) {
+        if (event.getStockQuantity() >= threshold) {
+            return;
+        }
+        
+        raisedAlerts.increment();
+        log.warn("LOW STOCK ALERT: Book '{}' (ID: {}) has only {} copies left!", 
+                event.getTitle(), event.getBookId(), event.getStockQuantity());
+        pending.put(event.getBookId(), new LowStockAlertDTO(
+                event.getBookId(),
+                event.getTitle(),
+                event.getAuthor(),
+                event.getStockQuantity(),
+                String.format("Low Stock Alert: \"%s\" by %s has only %d copies remaining!",
+                        event.getTitle(), event.getAuthor(), event.getStockQuantity())));
+    }
+    
+    /**
+     * Publish the alerts collected since the last tick as one message
+     */
+    @Scheduled(fixedDelayString = "${bookstore.alerts.low-stock.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        
+        long now = System.currentTimeMillis();
+        List<LowStockAlertDTO> alerts = new ArrayList<>();
+        Iterator<Long> bookIds = pending.keySet().iterator();
+        while (bookIds.hasNext()) {
+            Long bookId = bookIds.next();
+            LowStockAlertDTO alert = pending.remove(bookId);
+            if (alert == null) {
+                continue;
+            }
+            SentAlert sent = lastSent.get(bookId);
+            if (sent == null || now - sent.sentAt() >= dedupeWindowMillis
+                    || alert.getStockQuantity() < sent.stockQuantity()) {
+                alerts.add(alert);
+                lastSent.put(bookId, new SentAlert(now, alert.getStockQuantity()));
+            } else {
+                suppressedAlerts.increment();
+            }
+        }
+        
+        // Forget books whose dedupe window is over (keeps the map small)
+        lastSent.values().removeIf(sent -> now - sent.sentAt() >= dedupeWindowMillis);
+        
+        if (!alerts.isEmpty()) {
+            messagingTemplate.convertAndSend(LOW_STOCK_TOPIC, new LowStockAlertBatchDTO(LocalDateTime.now(), alerts));
+            publishedAlerts.increment(alerts.size());
+            log.debug("Published {} low stock alerts", alerts.size());
+        }
+    }
+    
+    private record SentAlert(long sentAt, int stockQuantity) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.bookstore.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * OutboxRelayJob - Drains the transactional outbox to the STOMP broker
+ * 
+ * Every poll interval it relays batches (one transaction each) until a batch
+ * comes back short, so a backlog is worked off without waiting for more ticks.
+ */
+@Component
+public class OutboxRelayJob {
+    
+    private final OutboxService outboxService;
+    private final int batchSize;
+    
+    public OutboxRelayJob(OutboxService outboxService,
+                          @Value("${bookstore.outbox.batch-size:500}") int batchSize) {
+        this.outboxService = outboxService;
+        this.batchSize = batchSize;
+    }
+    
+    @Scheduled(fixedDelayString = "${bookstore.outbox.poll-interval-ms:200}")
+    public void relay() {
+        int relayed;
+        do {
+            relayed = outboxService.relayBatch(batchSize);
+        } while (relayed == batchSize);
+    }
+}
@@ -0,0 +1,110 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.SaleDTO;
+import com.bookstore.dto.StockUpdateDTO;
+import com.bookstore.entity.OutboxEvent;
+import com.bookstore.event.SaleRecordedEvent;
+import com.bookstore.event.StockChangedEvent;
+import com.bookstore.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.MimeTypeUtils;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OutboxService - Transactional outbox for broker messages
+ * 
+ * Writing: sale and stock events are turned into outbox rows just before the
+ * transaction commits (BEFORE_COMMIT listeners), so the rows commit or roll
+ * back together with the sale. Nothing talks to the broker during checkout.
+ * 
+ * Relaying: relayBatch locks the oldest rows (FOR UPDATE SKIP LOCKED), sends
+ * them through SimpMessagingTemplate and deletes them in the same transaction.
+ * Messages survive a crash and are delivered at least once, in id order per relay.
+ * 
+ * Destinations:
+ * - /topic/sales: newly recorded sales (up to SALES_PER_MESSAGE per message)
+ * - /topic/stock/{bookId}: stock changes of one book (StockUpdateDTO), so
+ *   clients receive only the books they subscribe to ("/topic/stock/**" for all)
+ * 
+ * Interview Points:
+ * - Dual write problem: database commit and broker send cannot be atomic
+ * - Why SKIP LOCKED: concurrent relays share the work instead of blocking
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+    
+    private static final String SALES_TOPIC = "/topic/sales";
+    private static final String STOCK_TOPIC_PREFIX = "/topic/stock/";
+    
+    // Keeps a bulk upload from becoming one huge WebSocket frame
+    private static final int SALES_PER_MESSAGE = 100;
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onSaleRecorded(SaleRecordedEvent event) {
+        List<SaleDTO> sales = event.getSales();
+        List<OutboxEvent> rows = new ArrayList<>();
+        for (int from = 0; from < sales.size(); from += SALES_PER_MESSAGE) {
+            rows.add(toOutboxEvent(SALES_TOPIC, sales.subList(from, Math.min(from + SALES_PER_MESSAGE, sales.size()))));
+        }
+        outboxEventRepository.saveAll(rows);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onStockChanged(StockChangedEvent event) {
+        outboxEventRepository.save(toOutboxEvent(STOCK_TOPIC_PREFIX + event.getBookId(),
+                new StockUpdateDTO(event.getBookId(), event.getStockQuantity(), event.getChange())));
+    }
+    
+    /**
+     * Send and delete up to batchSize pending messages
+     * 
+     * @return number of messages relayed (less than batchSize: outbox drained)
+     */
+    @Transactional
+    public int relayBatch(int batchSize) {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        
+        for (OutboxEvent event : batch) {
+            SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            headers.setLeaveMutable(true);
+            messagingTemplate.send(event.getDestination(), MessageBuilder.createMessage(
+                    event.getPayload().getBytes(StandardCharsets.UTF_8), headers.getMessageHeaders()));
+        }
+        
+        outboxEventRepository.deleteAllInBatch(batch);
+        log.debug("Relayed {} outbox messages", batch.size());
+        return batch.size();
+    }
+    
+    private OutboxEvent toOutboxEvent(String destination, Object payload) {
+        try {
+            return new OutboxEvent(null, destination, objectMapper.writeValueAsString(payload), LocalDateTime.now());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize message for " + destination, e);
+        }
+    }
+}
@@ -1,14 +1,27 @@
 package com.bookstore.service;
 
 import com.bookstore.dto.PerformanceMetricsDTO;
+import com.bookstore.dto.PerformanceMetricsDTO.TopBookDTO;
+import com.bookstore.entity.Book;
+import com.bookstore.entity.BookSalesStats;
+import com.bookstore.entity.SalesSummary;
+import com.bookstore.repository.BookRepository;
+import com.bookstore.repository.BookSalesStatsRepository;
 import com.bookstore.repository.SaleRepository;
+import com.bookstore.repository.SalesHourlyRollupRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * PerformanceAnalysisService - Analytics & Reporting
@@ -22,6 +35,7 @@ import java.util.List;
  * Interview Points:
  * - @Transactional(readOnly = true): Optimized for read operations
  * - Custom JPQL queries in repositories
+ * - Reading pre-aggregated counters instead of scanning the ledger
  * - Aggregating data into DTOs
  * - BigDecimal for precise financial calculations
  */
@@ -31,40 +45,105 @@ import java.util.List;
 public class PerformanceAnalysisService {
     
     private final SaleRepository saleRepository;
+    private final BookRepository bookRepository;
+    private final BookSalesStatsRepository bookSalesStatsRepository;
+    private final SalesHourlyRollupRepository salesHourlyRollupRepository;
+    private final SalesAggregateService salesAggregateService;
+    private final TopSellersTracker topSellersTracker;
+    
+    // Upper bound for the number of top selling books in one response
+    private static final int MAX_TOP_BOOKS = 1000;
     
     /**
      * Get complete performance summary
      * 
-     * Aggregates sales data into meaningful metrics
+     * Reads the running totals maintained on every sale (one row by primary key)
+     * and the per-book counters, instead of aggregating the whole sales table
+     * 
+     * @param topBooksLimit number of top selling books to include
      */
     @Transactional(readOnly = true)
-    public PerformanceMetricsDTO getPerformanceSummary() {
-        log.info("Calculating performance summary");
+    public PerformanceMetricsDTO getPerformanceSummary(int topBooksLimit) {
+        log.debug("Calculating performance summary");
         
         // Get totals
-        BigDecimal totalRevenue = saleRepository.getTotalRevenue();
-        Long totalSales = saleRepository.count();
-        Long totalBooksSold = saleRepository.getTotalBooksSold();
+        SalesSummary summary = salesAggregateService.getSummary();
         
         // Get top selling books
-        List<PerformanceMetricsDTO.TopBookDTO> topBooks = saleRepository.findTopSellingBooks();
+        List<TopBookDTO> topBooks = getTopSellingBooks(topBooksLimit);
         
         return PerformanceMetricsDTO.builder()
-                .totalRevenue(totalRevenue != null ? totalRevenue : BigDecimal.ZERO)
-                .totalSales(totalSales != null ? totalSales : 0L)
-                .totalBooksSold(totalBooksSold != null ? totalBooksSold : 0L)
+                .totalRevenue(summary.getTotalRevenue())
+                .totalSales(summary.getTotalSales())
+                .totalBooksSold(summary.getTotalBooksSold())
                 .topSellingBooks(topBooks)
                 .build();
     }
     
     /**
-     * Get revenue within a specific date range
+     * Get the top k selling books
+     * 
+     * Served from the in-memory top-K (plus one query for titles) when k fits in
+     * it; otherwise a LIMIT k query on the per-book counters. If a tracked book
+     * was deleted and not yet dropped from the top-K, the LIMIT k query answers
+     * instead, so the result is never short.
+     */
+    @Transactional(readOnly = true)
+    public List<TopBookDTO> getTopSellingBooks(int k) {
+        int limit = Math.max(1, Math.min(k, MAX_TOP_BOOKS));
+        
+        List<BookSalesStats> tracked = topSellersTracker.top(limit);
+        if (tracked == null) {
+            return bookSalesStatsRepository.findTopSellingBooks(PageRequest.of(0, limit));
+        }
+        
+        // Resolve titles/authors in one query
+        Map<Long, Book> books = bookRepository.findAllById(
+                        tracked.stream().map(BookSalesStats::getBookId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        
+        List<TopBookDTO> topBooks = new ArrayList<>(tracked.size());
+        for (BookSalesStats stats : tracked) {
+            Book book = books.get(stats.getBookId());
+            if (book == null) {
+                return bookSalesStatsRepository.findTopSellingBooks(PageRequest.of(0, limit));
+            }
+            topBooks.add(new TopBookDTO(book.getId(), book.getTitle(), book.getAuthor(),
+                    stats.getUnitsSold(), stats.getRevenue()));
+        }
+        return topBooks;
+    }
+    
+    /**
+     * Get revenue within a specific date range (both ends inclusive)
+     * 
+     * Whole hours inside the range are summed from the hourly rollup; only the
+     * partial hours at the two edges are summed from raw sales:
+     * 
+     *   startDate ... firstFullHour | rollup buckets | lastFullHourEnd ... endDate
      */
     @Transactional(readOnly = true)
     public BigDecimal getRevenueByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        log.info("Calculating revenue from {} to {}", startDate, endDate);
+        log.debug("Calculating revenue from {} to {}", startDate, endDate);
+        
+        LocalDateTime firstFullHour = startDate.truncatedTo(ChronoUnit.HOURS);
+        if (firstFullHour.isBefore(startDate)) {
+            firstFullHour = firstFullHour.plusHours(1);
+        }
+        LocalDateTime lastFullHourEnd = endDate.truncatedTo(ChronoUnit.HOURS);
+        
+        // Range shorter than one whole hour: raw rows only
+        if (!firstFullHour.isBefore(lastFullHourEnd)) {
+            BigDecimal revenue = saleRepository.getRevenueByDateRange(startDate, endDate);
+            return revenue != null ? revenue : BigDecimal.ZERO;
+        }
         
-        BigDecimal revenue = saleRepository.getRevenueByDateRange(startDate, endDate);
-        return revenue != null ? revenue : BigDecimal.ZERO;
+        BigDecimal revenue = salesHourlyRollupRepository.sumRevenue(firstFullHour, lastFullHourEnd);
+        if (startDate.isBefore(firstFullHour)) {
+            revenue = revenue.add(saleRepository.getRevenueFromUntil(startDate, firstFullHour));
+        }
+        revenue = revenue.add(saleRepository.getRevenueByDateRange(lastFullHourEnd, endDate));
+        return revenue;
     }
 }
@@ -0,0 +1,103 @@
+package com.bookstore.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SaleMetrics - Timers for the sale path (createSale)
+ * 
+ * - bookstore.sale.create{outcome}: whole sale including the commit
+ *   (committed, rolled_back, failed = exception before commit)
+ * - bookstore.sale.create.phase{phase}: where the time goes
+ *   validate   - request checks
+ *   stock      - conditional stock UPDATE + reading the book back
+ *   insert     - the sale INSERT (flushed right away, so its cost is counted here
+ *                and not by whichever later statement would trigger the flush)
+ *   aggregates - running totals and per-book counters
+ *   events     - publishing the domain events
+ *   commit     - outbox rows (written before commit) and COMMIT
+ * 
+ * Both are published with percentile histograms, so p99 can be computed
+ * across instances in Prometheus (histogram_quantile).
+ * Low stock alerts are raised after commit and counted by LowStockAlertPublisher.
+ * 
+ * Interview Points:
+ * - Timer vs Counter vs Gauge
+ * - Why histograms (aggregatable) instead of client-side percentiles
+ * - Meters are created once: recording is a few atomic adds, no lookup per sale
+ */
+@Component
+public class SaleMetrics {
+    
+    enum Phase {
+        VALIDATE, STOCK, INSERT, AGGREGATES, EVENTS, COMMIT
+    }
+    
+    private final Timer[] phaseTimers = new Timer[Phase.values().length];
+    private final Timer committed;
+    private final Timer rolledBack;
+    private final Timer failed;
+    
+    public SaleMetrics(MeterRegistry meterRegistry) {
+        for (Phase phase : Phase.values()) {
+            phaseTimers[phase.ordinal()] = Timer.builder("bookstore.sale.create.phase")
+                    .description("Time spent in one phase of recording a sale")
+                    .tag("phase", phase.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+        this.committed = createTimer(meterRegistry, "committed");
+        this.rolledBack = createTimer(meterRegistry, "rolled_back");
+        this.failed = createTimer(meterRegistry, "failed");
+    }
+    
+    private static Timer createTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("bookstore.sale.create")
+                .description("Time to record a sale, commit included")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Record the phase that started at phaseStart (System.nanoTime)
+     * 
+     * @return now, the start of the next phase
+     */
+    long recordPhase(Phase phase, long phaseStart) {
+        long now = System.nanoTime();
+        phaseTimers[phase.ordinal()].record(now - phaseStart, TimeUnit.NANOSECONDS);
+        return now;
+    }
+    
+    /**
+     * Record the commit phase and the total once the surrounding transaction completes
+     * (immediately when there is no transaction)
+     */
+    void recordCompletion(long start, long commitStart) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordPhase(Phase.COMMIT, commitStart);
+            committed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                long now = recordPhase(Phase.COMMIT, commitStart);
+                Timer total = status == STATUS_COMMITTED ? committed : rolledBack;
+                total.record(now - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+    
+    /**
+     * Record a sale that failed before reaching the commit (validation, stock, ...)
+     */
+    void recordFailure(long start) {
+        failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,18 +1,32 @@
 package com.bookstore.service;
 
+import com.bookstore.dto.BookDTO;
+import com.bookstore.dto.CursorPageDTO;
 import com.bookstore.dto.SaleDTO;
 import com.bookstore.entity.Book;
+import com.bookstore.entity.BookSalesStats;
 import com.bookstore.entity.Sale;
-import com.bookstore.repository.BookRepository;
+import com.bookstore.event.SaleRecordedEvent;
 import com.bookstore.repository.SaleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 /**
  * SaleService - Business Logic Layer for Sales Management
@@ -33,17 +47,82 @@ import java.util.stream.Collectors;
 public class SaleService {
     
     private final SaleRepository saleRepository;
-    private final BookRepository bookRepository;
     private final BookService bookService;
+    private final SalesAggregateService salesAggregateService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SaleMetrics saleMetrics;
+    
+    // Upper bound for a single page of the paginated listing
+    private static final int MAX_PAGE_SIZE = 500;
+    
+    // Upper bound for one bulk upload (one transaction)
+    private static final int MAX_BULK_SALES = 10_000;
     
     /**
      * Get all sales
+     * Book titles are resolved by the same query (no findById per sale)
      */
+    @Transactional(readOnly = true)
     public List<SaleDTO> getAllSales() {
         log.debug("Fetching all sales");
-        return saleRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return saleRepository.findAllWithBookTitle();
+    }
+    
+    /**
+     * Write the whole sales ledger as NDJSON (one SaleDTO JSON object per line)
+     * 
+     * Rows are streamed from a database cursor and written as they arrive,
+     * so memory use does not depend on the number of sales.
+     * The transaction keeps the cursor open while the stream is consumed.
+     */
+    @Transactional(readOnly = true)
+    public void exportSales(OutputStream out) throws IOException {
+        log.debug("Exporting sales ledger as NDJSON");
+        ObjectWriter writer = objectMapper.writerFor(SaleDTO.class);
+        long count = 0;
+        
+        try (Stream<SaleDTO> sales = saleRepository.streamAllWithBookTitle()) {
+            Iterator<SaleDTO> iterator = sales.iterator();
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+                // Push the first row out immediately; later rows go out as the buffer fills
+                if (++count == 1) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        log.info("Exported {} sales", count);
+    }
+    
+    /**
+     * Get one keyset page of sales, newest first
+     * 
+     * The cursor is the (saleDate, id) of the last sale of the previous page;
+     * when either part is missing the first page is returned.
+     * 
+     * @param size requested page size, clamped to 1..MAX_PAGE_SIZE
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<SaleDTO> getSalesPage(LocalDateTime afterSaleDate, Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        log.debug("Fetching sales page after ({}, {}), size: {}", afterSaleDate, afterId, pageSize);
+        
+        // Fetch one extra row to know whether a next page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<SaleDTO> sales = (afterSaleDate != null && afterId != null)
+                ? saleRepository.findPageAfterWithBookTitle(afterSaleDate, afterId, limit)
+                : saleRepository.findFirstPageWithBookTitle(limit);
+        
+        boolean hasNext = sales.size() > pageSize;
+        List<SaleDTO> content = hasNext ? sales.subList(0, pageSize) : sales;
+        SaleDTO last = hasNext ? content.get(content.size() - 1) : null;
+        
+        return new CursorPageDTO<>(content, content.size(), hasNext,
+                last != null ? last.getId() : null,
+                last != null ? last.getSaleDate() : null);
     }
     
     /**
@@ -60,51 +139,140 @@ public class SaleService {
      * Create a new sale
      * 
      * This is a critical operation that must be transactional:
-     * 1. Verify book exists and has sufficient stock
-     * 2. Create the sale record
-     * 3. Reduce book stock (triggers low stock alert if needed)
+     * 1. Validate the requested quantity
+     * 2. Reduce book stock atomically (fails if the book is missing or out of stock,
+     *    triggers low stock alert if needed)
+     * 3. Create the sale record
+     * 4. Add it to the running analytics aggregates
+     * 5. Publish SaleRecordedEvent (handled after commit)
+     * 
+     * Each step is timed (SaleMetrics), the commit included.
      */
     @Transactional
     public SaleDTO createSale(SaleDTO saleDTO) {
         log.debug("Creating new sale for book id: {}, quantity: {}", 
                 saleDTO.getBookId(), saleDTO.getQuantitySold());
+        long start = System.nanoTime();
+        SaleDTO result;
+        long eventsPublished;
         
-        // 1. Verify book exists and has sufficient stock
-        Book book = bookRepository.findById(saleDTO.getBookId())
-                .orElseThrow(() -> new RuntimeException("Book not found with id: " + saleDTO.getBookId()));
+        try {
+            // 1. Validate quantity (a negative quantity would increase stock)
+            if (saleDTO.getQuantitySold() == null || saleDTO.getQuantitySold() <= 0) {
+                throw new RuntimeException("Quantity sold must be positive, got: " + saleDTO.getQuantitySold());
+            }
+            long validated = saleMetrics.recordPhase(SaleMetrics.Phase.VALIDATE, start);
+            
+            // 2. Take the stock - conditional UPDATE, so concurrent sales cannot oversell
+            Book book = bookService.processSale(saleDTO.getBookId(), saleDTO.getQuantitySold());
+            long stockTaken = saleMetrics.recordPhase(SaleMetrics.Phase.STOCK, validated);
+            
+            // 3. Calculate total amount
+            BigDecimal totalAmount = book.getPrice().multiply(
+                    BigDecimal.valueOf(saleDTO.getQuantitySold()));
+            
+            // 4. Create and save the sale
+            Sale sale = new Sale();
+            sale.setBookId(book.getId());
+            sale.setQuantitySold(saleDTO.getQuantitySold());
+            sale.setSaleDate(LocalDateTime.now());
+            sale.setTotalAmount(totalAmount);
+            
+            // Flushed here: the INSERT is timed as its own phase
+            Sale savedSale = saleRepository.saveAndFlush(sale);
+            log.debug("Sale created with id: {}, total amount: {}", savedSale.getId(), totalAmount);
+            long inserted = saleMetrics.recordPhase(SaleMetrics.Phase.INSERT, stockTaken);
+            
+            // 5. Update running totals and per-book counters in the same transaction
+            List<BookSalesStats> bookStats = salesAggregateService.recordSales(List.of(savedSale));
+            long aggregated = saleMetrics.recordPhase(SaleMetrics.Phase.AGGREGATES, inserted);
+            
+            // 6. Side effects (top sellers, pushes) run after commit
+            result = convertToDTO(savedSale, book.getTitle());
+            eventPublisher.publishEvent(new SaleRecordedEvent(List.of(result), bookStats));
+            eventsPublished = saleMetrics.recordPhase(SaleMetrics.Phase.EVENTS, aggregated);
+        } catch (RuntimeException e) {
+            saleMetrics.recordFailure(start);
+            throw e;
+        }
         
-        if (book.getStockQuantity() < saleDTO.getQuantitySold()) {
-            throw new RuntimeException("Insufficient stock. Available: " + book.getStockQuantity() + 
-                    ", Requested: " + saleDTO.getQuantitySold());
+        // Commit time and the total are recorded when the transaction completes
+        saleMetrics.recordCompletion(start, eventsPublished);
+        return result;
+    }
+    
+    /**
+     * Record a batch of sales (e.g. a POS end-of-shift upload) in one transaction
+     * 
+     * 1. Validate every sale up front
+     * 2. Take stock once per book for the summed quantity, in book id order so
+     *    concurrent batches lock book rows in the same order (no deadlocks)
+     * 3. Insert all sales with saveAll - sequence ids + hibernate.jdbc.batch_size
+     *    turn them into batched INSERTs
+     * 4. Add them to the running analytics aggregates and publish one
+     *    SaleRecordedEvent for the whole batch
+     * 
+     * All-or-nothing: if any book is missing or short on stock, nothing is recorded.
+     * A saleDate sent by the terminal is kept; otherwise the current time is used.
+     */
+    @Transactional
+    public List<SaleDTO> createSales(List<SaleDTO> saleDTOs) {
+        log.debug("Creating {} sales in bulk", saleDTOs.size());
+        
+        if (saleDTOs.size() > MAX_BULK_SALES) {
+            throw new RuntimeException("Too many sales in one batch. Max: " + MAX_BULK_SALES + 
+                    ", Received: " + saleDTOs.size());
         }
         
-        // 2. Calculate total amount
-        BigDecimal totalAmount = book.getPrice().multiply(
-                BigDecimal.valueOf(saleDTO.getQuantitySold()));
+        // 1. Validate and sum quantities per book
+        Map<Long, Integer> quantityByBook = new TreeMap<>();
+        for (SaleDTO saleDTO : saleDTOs) {
+            if (saleDTO.getBookId() == null) {
+                throw new RuntimeException("Book id is required for every sale");
+            }
+            if (saleDTO.getQuantitySold() == null || saleDTO.getQuantitySold() <= 0) {
+                throw new RuntimeException("Quantity sold must be positive, got: " + saleDTO.getQuantitySold() + 
+                        " for book id: " + saleDTO.getBookId());
+            }
+            quantityByBook.merge(saleDTO.getBookId(), saleDTO.getQuantitySold(), Integer::sum);
+        }
         
-        // 3. Create and save the sale
-        Sale sale = new Sale();
-        sale.setBookId(book.getId());
-        sale.setQuantitySold(saleDTO.getQuantitySold());
-        sale.setSaleDate(LocalDateTime.now());
-        sale.setTotalAmount(totalAmount);
+        // 2. One conditional stock UPDATE per book
+        Map<Long, Book> books = new HashMap<>();
+        quantityByBook.forEach((bookId, quantity) -> books.put(bookId, bookService.processSale(bookId, quantity)));
         
-        Sale savedSale = saleRepository.save(sale);
-        log.info("Sale created with id: {}, total amount: {}", savedSale.getId(), totalAmount);
+        // 3. Build and batch-insert the sale rows
+        LocalDateTime now = LocalDateTime.now();
+        List<Sale> sales = new ArrayList<>(saleDTOs.size());
+        for (SaleDTO saleDTO : saleDTOs) {
+            Book book = books.get(saleDTO.getBookId());
+            Sale sale = new Sale();
+            sale.setBookId(book.getId());
+            sale.setQuantitySold(saleDTO.getQuantitySold());
+            sale.setSaleDate(saleDTO.getSaleDate() != null ? saleDTO.getSaleDate() : now);
+            sale.setTotalAmount(book.getPrice().multiply(BigDecimal.valueOf(saleDTO.getQuantitySold())));
+            sales.add(sale);
+        }
         
-        // 4. Process the sale (reduce stock, check for low stock alert)
-        bookService.processSale(book.getId(), saleDTO.getQuantitySold());
+        List<Sale> savedSales = saleRepository.saveAll(sales);
+        List<BookSalesStats> bookStats = salesAggregateService.recordSales(savedSales);
+        log.debug("Bulk sale recorded: {} sales across {} books", savedSales.size(), books.size());
         
-        return convertToDTO(savedSale, book.getTitle());
+        List<SaleDTO> result = new ArrayList<>(savedSales.size());
+        for (Sale sale : savedSales) {
+            result.add(convertToDTO(sale, books.get(sale.getBookId()).getTitle()));
+        }
+        eventPublisher.publishEvent(new SaleRecordedEvent(result, bookStats));
+        return result;
     }
     
     /**
      * Convert Sale entity to SaleDTO
      */
     private SaleDTO convertToDTO(Sale sale) {
-        // Try to get book title if book exists
-        String bookTitle = bookRepository.findById(sale.getBookId())
-                .map(Book::getTitle)
+        // Try to get book title if book exists (book cache, usually no query)
+        String bookTitle = bookService.findBook(sale.getBookId())
+                .map(BookDTO::getTitle)
                 .orElse("Unknown Book");
         
         return convertToDTO(sale, bookTitle);
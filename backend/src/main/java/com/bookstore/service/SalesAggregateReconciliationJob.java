@@ -0,0 +1,40 @@
+package com.bookstore.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * SalesAggregateReconciliationJob - Keeps the incremental aggregates honest
+ * 
+ * - On startup: builds the aggregates once if they have never been built
+ *   (database created before the aggregates existed)
+ * - On schedule (bookstore.analytics.reconcile-cron, nightly by default):
+ *   rebuilds them from the sales ledger to repair any drift
+ * Both re-seed the in-memory top sellers from the rebuilt counters.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SalesAggregateReconciliationJob {
+    
+    private final SalesAggregateService salesAggregateService;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeAggregates() {
+        if (!salesAggregateService.isInitialized()) {
+            log.info("Sales aggregates not initialized yet");
+            salesAggregateService.rebuildFromLedger();
+        }
+        salesAggregateService.reseedTopSellers();
+    }
+    
+    @Scheduled(cron = "${bookstore.analytics.reconcile-cron:0 0 3 * * *}")
+    public void reconcile() {
+        salesAggregateService.rebuildFromLedger();
+        salesAggregateService.reseedTopSellers();
+    }
+}
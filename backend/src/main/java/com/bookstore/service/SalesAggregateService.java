@@ -0,0 +1,189 @@
+package com.bookstore.service;
+
+import com.bookstore.config.AsyncConfig;
+import com.bookstore.entity.BookSalesStats;
+import com.bookstore.entity.Sale;
+import com.bookstore.entity.SalesSummary;
+import com.bookstore.event.BookDeletedEvent;
+import com.bookstore.event.SaleRecordedEvent;
+import com.bookstore.repository.BookSalesStatsRepository;
+import com.bookstore.repository.SalesHourlyRollupRepository;
+import com.bookstore.repository.SalesSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * SalesAggregateService - Incrementally maintained sales aggregates
+ * 
+ * Keeps the running totals (sales_summary), hourly revenue buckets
+ * (sales_hourly_rollup) and per-book counters (book_sales_stats) in step
+ * with the sales ledger:
+ * - recordSales: called inside the sale transaction, adds the new sales
+ * - rebuildFromLedger: recomputes everything from the sales table
+ *   (reconciliation job, and first start on an existing database), plus
+ *   the aggregates of months detached by the sales retention policy
+ * It also feeds committed sales (SaleRecordedEvent) into the in-memory
+ * TopSellersTracker.
+ * 
+ * Lock order: the totals row is always updated first (then hourly buckets, then
+ * per-book counters, each in key order), and the rebuild applies its
+ * corrections in the same order, so they can never deadlock.
+ * 
+ * Interview Points:
+ * - Propagation.MANDATORY: aggregates only change together with the ledger
+ * - Why a periodic rebuild: repairs drift from manual SQL fixes or bugs
+ * - Rebuild by corrections: no table lock, the ledger scans never block sales
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalesAggregateService {
+    
+    private final SalesSummaryRepository salesSummaryRepository;
+    private final SalesHourlyRollupRepository salesHourlyRollupRepository;
+    private final BookSalesStatsRepository bookSalesStatsRepository;
+    private final TopSellersTracker topSellersTracker;
+    
+    /**
+     * Add newly inserted sales to the aggregates
+     * Must run in the transaction that inserted the sales
+     * 
+     * @return the sold books' counters after this update (for SaleRecordedEvent)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<BookSalesStats> recordSales(List<Sale> sales) {
+        if (sales.isEmpty()) {
+            return List.of();
+        }
+        
+        // Sum per hour and per book, in key order (consistent row lock order across transactions)
+        Map<LocalDateTime, BookTotals> totalsByHour = new TreeMap<>();
+        Map<Long, BookTotals> totalsByBook = new TreeMap<>();
+        BookTotals overall = new BookTotals();
+        for (Sale sale : sales) {
+            totalsByHour.computeIfAbsent(sale.getSaleDate().truncatedTo(ChronoUnit.HOURS), hour -> new BookTotals()).add(sale);
+            totalsByBook.computeIfAbsent(sale.getBookId(), id -> new BookTotals()).add(sale);
+            overall.add(sale);
+        }
+        
+        salesSummaryRepository.addSales(overall.revenue, overall.sales, overall.units);
+        totalsByHour.forEach((hour, totals) ->
+                salesHourlyRollupRepository.addSales(hour, totals.revenue, totals.sales, totals.units));
+        totalsByBook.forEach((bookId, totals) ->
+                bookSalesStatsRepository.addSales(bookId, totals.units, totals.sales, totals.revenue));
+        return bookSalesStatsRepository.findCounters(totalsByBook.keySet());
+    }
+    
+    /**
+     * Move committed sales into the in-memory top-K (after commit, off the request thread)
+     * 
+     * The event carries each book's cumulative counters as committed by the
+     * sale transaction, so no database access is needed here, and listeners
+     * running out of order cannot count a sale twice.
+     */
+    @Async(AsyncConfig.DOMAIN_EVENT_EXECUTOR)
+    @TransactionalEventListener
+    public void onSaleRecorded(SaleRecordedEvent event) {
+        event.getBookStats().forEach(topSellersTracker::recordSales);
+    }
+    
+    /**
+     * Drop a deleted book from the top-K and refill the freed slot from the counters
+     * (otherwise top-k requests would come back one book short)
+     */
+    @Async(AsyncConfig.DOMAIN_EVENT_EXECUTOR)
+    @TransactionalEventListener
+    public void onBookDeleted(BookDeletedEvent event) {
+        if (topSellersTracker.remove(event.getBookId())) {
+            reseedTopSellers();
+        }
+    }
+    
+    /**
+     * Reload the in-memory top-K from the per-book counters
+     * (sales recorded by onSaleRecorded during the load are kept, see TopSellersTracker.reset)
+     */
+    @Transactional(readOnly = true)
+    public void reseedTopSellers() {
+        long loadedAfter = topSellersTracker.version();
+        List<BookSalesStats> topBooks = bookSalesStatsRepository.findTopByUnitsSold(
+                PageRequest.of(0, topSellersTracker.getCapacity()));
+        topSellersTracker.reset(topBooks, loadedAfter);
+    }
+    
+    /**
+     * Get the running totals (all zeros before the first sale)
+     */
+    @Transactional(readOnly = true)
+    public SalesSummary getSummary() {
+        return salesSummaryRepository.findById(SalesSummary.SINGLETON_ID)
+                .orElseGet(() -> new SalesSummary(SalesSummary.SINGLETON_ID, BigDecimal.ZERO, 0L, 0L));
+    }
+    
+    /**
+     * Whether the totals row exists yet (false on a database that predates the aggregates)
+     */
+    @Transactional(readOnly = true)
+    public boolean isInitialized() {
+        return salesSummaryRepository.existsById(SalesSummary.SINGLETON_ID);
+    }
+    
+    /**
+     * Recompute the totals, hourly buckets and per-book counters from the sales ledger
+     * (plus the detached aggregates, see SalesPartitionService.detachPartition)
+     * 
+     * Works on corrections instead of replacing the aggregates:
+     * 1. stage: for each aggregate, one statement computes ledger minus current
+     *    value into a temporary table - the long part (full ledger scans),
+     *    without locks, while sales keep committing
+     * 2. apply: adds the corrections, in the lock order of recordSales; only rows
+     *    that drifted are locked, and only until this transaction commits
+     * A sale committed between the two steps is already in the aggregates, and
+     * adding a correction does not undo it.
+     */
+    @Transactional
+    public void rebuildFromLedger() {
+        log.info("Rebuilding sales aggregates from ledger");
+        long start = System.currentTimeMillis();
+        
+        salesSummaryRepository.stageRebuild();
+        salesHourlyRollupRepository.stageRebuild();
+        bookSalesStatsRepository.stageRebuild();
+        
+        int totals = salesSummaryRepository.applyRebuild();
+        int buckets = salesHourlyRollupRepository.applyRebuild();
+        int books = bookSalesStatsRepository.applyRebuild();
+        salesHourlyRollupRepository.deleteEmptyBuckets();
+        bookSalesStatsRepository.deleteEmptyCounters();
+        
+        log.info("Sales aggregates rebuilt in {} ms: {} totals row, {} hourly buckets and {} books corrected",
+                System.currentTimeMillis() - start, totals, buckets, books);
+    }
+    
+    /**
+     * Mutable accumulator for one group of sales (one book, one hour, or all)
+     */
+    private static class BookTotals {
+        private long sales;
+        private long units;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        
+        private void add(Sale sale) {
+            sales++;
+            units += sale.getQuantitySold();
+            revenue = revenue.add(sale.getTotalAmount());
+        }
+    }
+}
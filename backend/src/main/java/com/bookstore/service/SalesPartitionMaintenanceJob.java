@@ -0,0 +1,69 @@
+package com.bookstore.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.YearMonth;
+
+/**
+ * SalesPartitionMaintenanceJob - Keeps the monthly sales partitions ahead of time
+ * 
+ * On startup and on schedule (bookstore.sales.partitions.maintenance-cron):
+ * - creates the partitions of the current month and the next months-ahead months
+ * - with retention-months > 0, detaches the months older than that
+ *   (0, the default, keeps every month)
+ * 
+ * A month that fails (e.g. lock timeout) is logged and retried on the next run;
+ * it does not stop startup or the other months.
+ * 
+ * Detached months no longer belong to the sales ledger, but their sales are kept
+ * in the detached aggregates: the nightly aggregate rebuild still counts them.
+ */
+@Component
+@Slf4j
+public class SalesPartitionMaintenanceJob {
+    
+    private final SalesPartitionService salesPartitionService;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    
+    public SalesPartitionMaintenanceJob(SalesPartitionService salesPartitionService,
+                                        @Value("${bookstore.sales.partitions.months-ahead:3}") int monthsAhead,
+                                        @Value("${bookstore.sales.partitions.retention-months:0}") int retentionMonths) {
+        this.salesPartitionService = salesPartitionService;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializePartitions() {
+        maintainPartitions();
+    }
+    
+    @Scheduled(cron = "${bookstore.sales.partitions.maintenance-cron:0 30 2 * * *}")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                salesPartitionService.createPartition(month);
+            } catch (RuntimeException e) {
+                // Sales of that month go to sales_default meanwhile; retention still runs
+                log.warn("Could not create sales partition for {}, retrying on the next run: {}", month, e.getMessage());
+            }
+        }
+        
+        if (retentionMonths > 0) {
+            for (String partition : salesPartitionService.findPartitionsBefore(current.minusMonths(retentionMonths - 1))) {
+                try {
+                    salesPartitionService.detachPartition(partition);
+                } catch (RuntimeException e) {
+                    log.warn("Could not detach sales partition {}, retrying on the next run: {}", partition, e.getMessage());
+                }
+            }
+        }
+    }
+}
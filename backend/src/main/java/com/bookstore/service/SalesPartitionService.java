@@ -0,0 +1,162 @@
+package com.bookstore.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * SalesPartitionService - Monthly partitions of the sales table
+ * 
+ * sales is partitioned by RANGE (sale_date), one partition per month named
+ * sales_pYYYY_MM, plus sales_default for rows outside every month
+ * (see V7__sales_monthly_partitions.sql).
+ * - createPartition: adds a month; rows of that month already sitting in
+ *   sales_default (e.g. a bulk upload with future dates) are moved into it
+ * - detachPartition: removes a month from sales but keeps it as a standalone
+ *   table (sales_archive_YYYY_MM) - no DELETE, no VACUUM; dropping or dumping
+ *   it is up to the operator. Its sales stay in the aggregates.
+ * 
+ * Interview Points:
+ * - Partition pruning: WHERE sale_date BETWEEN ... only scans matching months
+ * - Retention by DETACH/DROP instead of DELETE: no dead tuples, no bloat
+ * - Why the primary key includes sale_date
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalesPartitionService {
+    
+    private static final String DEFAULT_PARTITION = "sales_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String PARTITION_PREFIX = "sales_p";
+    private static final String ARCHIVE_PREFIX = "sales_archive_";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Create the partition for one month unless it exists
+     * 
+     * Inserts into sales_default wait until the month is attached (a few
+     * statements; rows of existing months are not affected).
+     * 
+     * @return true if it was created
+     */
+    @Transactional
+    public boolean createPartition(YearMonth month) {
+        // One maintenance run at a time (several application instances)
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext('sales_partitions'))");
+        
+        String name = partitionName(month);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+        if (Boolean.TRUE.equals(exists)) {
+            return false;
+        }
+        
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        
+        // Create standalone, take over the month's rows from the default partition,
+        // then attach (indexes and primary key are added on attach)
+        jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE sales INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        // No inserts into the default partition until commit: a sale of this month
+        // landing there after the move would make the ATTACH fail. lock_timeout gives
+        // up instead of queueing sales behind a long writer - the next run retries.
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+        jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN SHARE ROW EXCLUSIVE MODE");
+        int moved = jdbcTemplate.update(
+                "WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE sale_date >= ? AND sale_date < ? RETURNING *) " +
+                "INSERT INTO " + name + " SELECT * FROM moved",
+                from.atStartOfDay(), to.atStartOfDay());
+        jdbcTemplate.execute("ALTER TABLE sales ATTACH PARTITION " + name +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        
+        log.info("Created sales partition {} ({} rows moved from {})", name, moved, DEFAULT_PARTITION);
+        return true;
+    }
+    
+    /**
+     * Names of the attached monthly partitions that end before the given month
+     */
+    @Transactional(readOnly = true)
+    public List<String> findPartitionsBefore(YearMonth month) {
+        String bound = partitionName(month);
+        return jdbcTemplate.queryForList(
+                        "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = 'sales'::regclass AND c.relname ~ '^sales_p[0-9]{4}_[0-9]{2}$' " +
+                        "ORDER BY c.relname", String.class)
+                .stream()
+                .filter(name -> name.compareTo(bound) < 0)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Detach one monthly partition (its rows leave the sales table)
+     * 
+     * In the same transaction, the month's hourly buckets and per-book counters
+     * are added to the detached aggregates (see V8__sales_detached_aggregates.sql),
+     * so rebuilding the aggregates from the ledger still counts its sales. The
+     * table is then renamed to sales_archive_YYYY_MM: the month can be created
+     * again (createPartition looks for sales_pYYYY_MM).
+     * 
+     * DETACH needs a short exclusive lock on sales; lock_timeout makes it give
+     * up instead of queueing sales behind a long running query - the next run
+     * retries.
+     * 
+     * @return the name of the archive table
+     */
+    @Transactional
+    public String detachPartition(String name) {
+        if (!name.matches("^sales_p[0-9]{4}_[0-9]{2}$")) {
+            throw new RuntimeException("Not a monthly sales partition: " + name);
+        }
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+        // Blocks writes to this (old) month until commit, so the folded sums match the
+        // detached rows; sales of other months are not affected
+        jdbcTemplate.execute("LOCK TABLE " + name + " IN SHARE MODE");
+        jdbcTemplate.update(
+                "INSERT INTO sales_hourly_rollup_detached (bucket_start, revenue, sale_count, units_sold) " +
+                "SELECT date_trunc('hour', sale_date), SUM(total_amount), COUNT(*), SUM(quantity_sold) " +
+                "FROM " + name + " GROUP BY date_trunc('hour', sale_date) " +
+                "ON CONFLICT (bucket_start) DO UPDATE SET " +
+                "revenue = sales_hourly_rollup_detached.revenue + EXCLUDED.revenue, " +
+                "sale_count = sales_hourly_rollup_detached.sale_count + EXCLUDED.sale_count, " +
+                "units_sold = sales_hourly_rollup_detached.units_sold + EXCLUDED.units_sold");
+        jdbcTemplate.update(
+                "INSERT INTO book_sales_stats_detached (book_id, units_sold, sale_count, revenue) " +
+                "SELECT book_id, SUM(quantity_sold), COUNT(*), SUM(total_amount) FROM " + name + " GROUP BY book_id " +
+                "ON CONFLICT (book_id) DO UPDATE SET " +
+                "units_sold = book_sales_stats_detached.units_sold + EXCLUDED.units_sold, " +
+                "sale_count = book_sales_stats_detached.sale_count + EXCLUDED.sale_count, " +
+                "revenue = book_sales_stats_detached.revenue + EXCLUDED.revenue");
+        jdbcTemplate.execute("ALTER TABLE sales DETACH PARTITION " + name);
+        
+        String archive = archiveName(name);
+        jdbcTemplate.execute("ALTER TABLE " + name + " RENAME TO " + archive);
+        log.info("Detached sales partition {} as {}", name, archive);
+        return archive;
+    }
+    
+    /**
+     * sales_archive_YYYY_MM, or with a _2, _3 ... suffix if that month was archived before
+     */
+    private String archiveName(String partition) {
+        String base = ARCHIVE_PREFIX + partition.substring(PARTITION_PREFIX.length());
+        String archive = base;
+        for (int i = 2; Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, archive)); i++) {
+            archive = base + "_" + i;
+        }
+        return archive;
+    }
+    
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
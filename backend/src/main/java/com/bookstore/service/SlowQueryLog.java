@@ -0,0 +1,128 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.PersistenceStatsDTO.SlowQueryDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SlowQueryLog - The statements that took longer than the threshold
+ * 
+ * Fed by the JDBC proxy around the DataSource (SlowQueryDataSource, only with
+ * bookstore.persistence.slow-query.enabled=true - empty otherwise); replaces
+ * logging every statement (show-sql) with keeping only the ones that matter:
+ * - recent: ring buffer of the last N slow statements (overwritten in place)
+ * - slowest: the N slowest statements since start (or the last clear)
+ * 
+ * Each entry holds the SQL and its bind shape - parameter types, never values,
+ * so nothing customer related ends up in memory dumps or the admin endpoint.
+ * Fast statements only pay for one comparison; the lock is taken for slow ones only.
+ * 
+ * Interview Points:
+ * - Threshold sampling vs logging everything
+ * - Ring buffer: fixed memory, oldest entry overwritten
+ * - Min-heap of size N for a running top-N
+ */
+@Component
+@Slf4j
+public class SlowQueryLog {
+    
+    // Longer SQL text is cut (IN lists, batched VALUES)
+    private static final int MAX_SQL_LENGTH = 2000;
+    
+    private final long thresholdNanos;
+    private final int capacity;
+    
+    private final SlowQueryDTO[] recent;
+    private final AtomicLong recorded = new AtomicLong();
+    
+    // Smallest duration on top: evicted first when a slower statement arrives
+    private final PriorityQueue<SlowQueryDTO> slowest =
+            new PriorityQueue<>(Comparator.comparingDouble(SlowQueryDTO::getDurationMillis));
+    
+    public SlowQueryLog(@Value("${bookstore.persistence.slow-query.threshold:100ms}") Duration threshold,
+                        @Value("${bookstore.persistence.slow-query.capacity:50}") int capacity) {
+        this.thresholdNanos = threshold.toNanos();
+        this.capacity = capacity;
+        this.recent = new SlowQueryDTO[capacity];
+        log.info("Slow query log configured: threshold {}, capacity {}", threshold, capacity);
+    }
+    
+    public boolean isSlow(long durationNanos) {
+        return durationNanos >= thresholdNanos;
+    }
+    
+    /**
+     * Record a statement that took at least the threshold
+     */
+    public void record(String sql, String bindShape, long durationNanos) {
+        SlowQueryDTO query = new SlowQueryDTO(normalize(sql), bindShape,
+                durationNanos / 1_000_000.0, LocalDateTime.now(), Thread.currentThread().getName());
+        log.warn("Slow statement ({} ms): {} {}", query.getDurationMillis(), query.getSql(), bindShape);
+        
+        recent[(int) (recorded.getAndIncrement() % capacity)] = query;
+        synchronized (slowest) {
+            if (slowest.size() < capacity) {
+                slowest.add(query);
+            } else if (slowest.peek().getDurationMillis() < query.getDurationMillis()) {
+                slowest.poll();
+                slowest.add(query);
+            }
+        }
+    }
+    
+    /**
+     * Number of slow statements since start (or the last clear)
+     */
+    public long count() {
+        return recorded.get();
+    }
+    
+    /**
+     * The slowest statements, slowest first
+     */
+    public List<SlowQueryDTO> slowest() {
+        List<SlowQueryDTO> result;
+        synchronized (slowest) {
+            result = new ArrayList<>(slowest);
+        }
+        result.sort(Comparator.comparingDouble(SlowQueryDTO::getDurationMillis).reversed());
+        return result;
+    }
+    
+    /**
+     * The last slow statements, newest first
+     */
+    public List<SlowQueryDTO> recent() {
+        List<SlowQueryDTO> result = new ArrayList<>(capacity);
+        long last = recorded.get();
+        for (long i = last - 1; i >= Math.max(0, last - capacity); i--) {
+            SlowQueryDTO query = recent[(int) (i % capacity)];
+            if (query != null) {
+                result.add(query);
+            }
+        }
+        return result;
+    }
+    
+    public void clear() {
+        synchronized (slowest) {
+            slowest.clear();
+        }
+        Arrays.fill(recent, null);
+        recorded.set(0);
+    }
+    
+    private static String normalize(String sql) {
+        String compact = sql.replaceAll("\\s+", " ").trim();
+        return compact.length() > MAX_SQL_LENGTH ? compact.substring(0, MAX_SQL_LENGTH) + " ..." : compact;
+    }
+}
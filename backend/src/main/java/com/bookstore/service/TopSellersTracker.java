@@ -0,0 +1,175 @@
+package com.bookstore.service;
+
+import com.bookstore.entity.BookSalesStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * TopSellersTracker - In-memory top-K of best selling books
+ * 
+ * Holds the `capacity` books with the most units sold, ordered by units.
+ * It is seeded from book_sales_stats and then fed by every committed sale,
+ * so top-N requests (N <= capacity) are answered without sorting the catalog.
+ * 
+ * Why this stays exact: units sold only grow, and a book's count only changes
+ * when it is sold - at which point its committed cumulative counters are
+ * offered here. Updates are absolute and keep the larger value, so listeners
+ * that run concurrently or out of order (async, after commit) can neither
+ * lose nor double count a sale. A book outside the set can only enter by
+ * beating the current minimum, which then drops out. A deleted book is removed
+ * and the set re-seeded, so no slot stays empty.
+ * The nightly reconciliation re-seeds it in case anything drifted; a re-seed
+ * keeps the sales recorded while it was loading (see reset).
+ * 
+ * Interview Points:
+ * - Bounded min-heap / ordered set for top-K: O(log K) per update
+ * - synchronized: updates are tiny, so a single lock is cheaper than being clever
+ */
+@Component
+@Slf4j
+public class TopSellersTracker {
+    
+    // Highest units first; bookId keeps entries with equal units distinct
+    private static final Comparator<BookSalesStats> BY_UNITS_DESC = Comparator
+            .comparing(BookSalesStats::getUnitsSold, Comparator.reverseOrder())
+            .thenComparing(BookSalesStats::getBookId);
+    
+    private final int capacity;
+    private final TreeSet<BookSalesStats> ranking = new TreeSet<>(BY_UNITS_DESC);
+    private final Map<Long, BookSalesStats> byBookId = new HashMap<>();
+    // Version of the last recordSales that changed each tracked book (see reset)
+    private final Map<Long, Long> updatedAt = new HashMap<>();
+    private long version;
+    private boolean initialized;
+    
+    public TopSellersTracker(@Value("${bookstore.analytics.top-k-capacity:100}") int capacity) {
+        this.capacity = capacity;
+    }
+    
+    /**
+     * Maximum K this tracker can answer
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    /**
+     * Current update version; read it before loading the top books passed to reset
+     */
+    public synchronized long version() {
+        return version;
+    }
+    
+    /**
+     * Replace the contents with the top books loaded from the database
+     * 
+     * The load runs outside this lock, so sales recorded meanwhile may be newer
+     * than the loaded counters. Books recorded after the given version keep
+     * whichever counters are further along (like recordSales); every other book
+     * takes the loaded counters, which is how a rebuild's corrections get in.
+     * 
+     * @param loadedAfter version() read before the top books were loaded
+     */
+    public synchronized void reset(List<BookSalesStats> topBooks, long loadedAfter) {
+        Map<Long, BookSalesStats> merged = new HashMap<>();
+        topBooks.forEach(stats -> merged.put(stats.getBookId(), copyOf(stats)));
+        updatedAt.forEach((bookId, updated) -> {
+            if (updated > loadedAfter) {
+                merged.merge(bookId, byBookId.get(bookId), (loaded, recorded) ->
+                        recorded.getSaleCount() > loaded.getSaleCount() ? recorded : loaded);
+            }
+        });
+        
+        Map<Long, Long> previousUpdates = new HashMap<>(updatedAt);
+        ranking.clear();
+        byBookId.clear();
+        updatedAt.clear();
+        merged.values().stream()
+                .sorted(BY_UNITS_DESC)
+                .limit(capacity)
+                .forEach(stats -> {
+                    insert(stats);
+                    updatedAt.put(stats.getBookId(), previousUpdates.getOrDefault(stats.getBookId(), 0L));
+                });
+        initialized = true;
+        log.debug("Top sellers tracker seeded with {} books", ranking.size());
+    }
+    
+    /**
+     * Apply a book's committed cumulative counters (idempotent)
+     * 
+     * A tracked book keeps whichever counters are further along: an older
+     * snapshot arriving late is ignored. An untracked book competes for a slot.
+     */
+    public synchronized void recordSales(BookSalesStats current) {
+        BookSalesStats tracked = byBookId.get(current.getBookId());
+        if (tracked != null) {
+            if (current.getSaleCount() > tracked.getSaleCount()) {
+                ranking.remove(tracked);
+                tracked.setUnitsSold(current.getUnitsSold());
+                tracked.setSaleCount(current.getSaleCount());
+                tracked.setRevenue(current.getRevenue());
+                ranking.add(tracked);
+                updatedAt.put(tracked.getBookId(), ++version);
+            }
+        } else if (ranking.size() < capacity) {
+            insert(copyOf(current));
+            updatedAt.put(current.getBookId(), ++version);
+        } else if (current.getUnitsSold() > ranking.last().getUnitsSold()) {
+            Long evicted = ranking.pollLast().getBookId();
+            byBookId.remove(evicted);
+            updatedAt.remove(evicted);
+            insert(copyOf(current));
+            updatedAt.put(current.getBookId(), ++version);
+        }
+    }
+    
+    /**
+     * Drop a book (deleted from the inventory)
+     * 
+     * @return true if it was tracked - its slot is then empty until the next
+     *         reset, so the caller re-seeds to keep the top-K exact
+     */
+    public synchronized boolean remove(Long bookId) {
+        BookSalesStats tracked = byBookId.remove(bookId);
+        if (tracked == null) {
+            return false;
+        }
+        ranking.remove(tracked);
+        updatedAt.remove(bookId);
+        return true;
+    }
+    
+    /**
+     * Top k books, or null when the tracker cannot answer (not seeded yet, or k > capacity)
+     */
+    public synchronized List<BookSalesStats> top(int k) {
+        if (!initialized || k > capacity) {
+            return null;
+        }
+        List<BookSalesStats> result = new ArrayList<>(Math.min(k, ranking.size()));
+        for (BookSalesStats stats : ranking) {
+            if (result.size() == k) {
+                break;
+            }
+            result.add(copyOf(stats));
+        }
+        return result;
+    }
+    
+    private void insert(BookSalesStats stats) {
+        ranking.add(stats);
+        byBookId.put(stats.getBookId(), stats);
+    }
+    
+    private static BookSalesStats copyOf(BookSalesStats stats) {
+        return new BookSalesStats(stats.getBookId(), stats.getUnitsSold(), stats.getSaleCount(), stats.getRevenue());
+    }
+}
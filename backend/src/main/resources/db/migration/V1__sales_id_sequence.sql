@@ -0,0 +1,17 @@
+-- Move sales.id from IDENTITY/SERIAL to a sequence with increment 50
+-- (matches @SequenceGenerator(allocationSize = 50) on Sale) so Hibernate can batch inserts.
+
+CREATE SEQUENCE IF NOT EXISTS sales_seq START WITH 1 INCREMENT BY 50;
+
+-- On a database created by an earlier version the table already exists:
+-- drop the column default and continue numbering after the existing rows.
+DO $$
+BEGIN
+    IF to_regclass('sales') IS NOT NULL THEN
+        ALTER TABLE sales ALTER COLUMN id DROP IDENTITY IF EXISTS;
+        ALTER TABLE sales ALTER COLUMN id DROP DEFAULT;
+        DROP SEQUENCE IF EXISTS sales_id_seq;
+        -- The first id Hibernate hands out is at most (nextval - 49), so keep it above MAX(id)
+        PERFORM setval('sales_seq', (SELECT COALESCE(MAX(id), 0) FROM sales) + 50, false);
+    END IF;
+END $$;
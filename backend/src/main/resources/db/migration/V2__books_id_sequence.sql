@@ -0,0 +1,17 @@
+-- Move books.id from IDENTITY/SERIAL to a sequence, and align both id sequences
+-- with the configured allocation size (bookstore.id.allocation-size).
+
+CREATE SEQUENCE IF NOT EXISTS books_seq START WITH 1 INCREMENT BY ${id_allocation_size};
+
+ALTER SEQUENCE sales_seq INCREMENT BY ${id_allocation_size};
+
+DO $$
+BEGIN
+    IF to_regclass('books') IS NOT NULL THEN
+        ALTER TABLE books ALTER COLUMN id DROP IDENTITY IF EXISTS;
+        ALTER TABLE books ALTER COLUMN id DROP DEFAULT;
+        DROP SEQUENCE IF EXISTS books_id_seq;
+        -- Keep every id Hibernate can hand out above the existing rows (pooled or pooled-lo)
+        PERFORM setval('books_seq', (SELECT COALESCE(MAX(id), 0) FROM books) + ${id_allocation_size}, false);
+    END IF;
+END $$;
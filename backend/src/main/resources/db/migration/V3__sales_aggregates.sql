@@ -0,0 +1,19 @@
+-- Incrementally maintained sales aggregates (see SalesAggregateService).
+-- Filled from the ledger on first start, then updated with every sale.
+
+CREATE TABLE IF NOT EXISTS sales_summary (
+    id               INTEGER        PRIMARY KEY CHECK (id = 1),
+    total_revenue    NUMERIC(19, 2) NOT NULL,
+    total_sales      BIGINT         NOT NULL,
+    total_books_sold BIGINT         NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS book_sales_stats (
+    book_id    BIGINT         PRIMARY KEY,
+    units_sold BIGINT         NOT NULL,
+    sale_count BIGINT         NOT NULL,
+    revenue    NUMERIC(19, 2) NOT NULL
+);
+
+-- Top sellers are read in units_sold order
+CREATE INDEX IF NOT EXISTS idx_book_sales_stats_units_sold ON book_sales_stats (units_sold DESC);
@@ -0,0 +1,20 @@
+-- Hourly revenue rollup (see SalesHourlyRollup), updated with every sale.
+
+CREATE TABLE IF NOT EXISTS sales_hourly_rollup (
+    bucket_start TIMESTAMP(6)   PRIMARY KEY,
+    revenue      NUMERIC(19, 2) NOT NULL,
+    sale_count   BIGINT         NOT NULL,
+    units_sold   BIGINT         NOT NULL
+);
+
+-- Back-fill from the existing ledger
+DO $$
+BEGIN
+    IF to_regclass('sales') IS NOT NULL THEN
+        INSERT INTO sales_hourly_rollup (bucket_start, revenue, sale_count, units_sold)
+        SELECT date_trunc('hour', sale_date), SUM(total_amount), COUNT(*), SUM(quantity_sold)
+        FROM sales
+        GROUP BY date_trunc('hour', sale_date)
+        ON CONFLICT (bucket_start) DO NOTHING;
+    END IF;
+END $$;
@@ -0,0 +1,12 @@
+-- Transactional outbox (see OutboxService): messages for the STOMP broker are
+-- written in the same transaction as the change they describe, and relayed
+-- (then deleted) by OutboxRelayJob.
+
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq START WITH 1 INCREMENT BY ${id_allocation_size};
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id          BIGINT        PRIMARY KEY,
+    destination VARCHAR(255)  NOT NULL,
+    payload     TEXT          NOT NULL,
+    created_at  TIMESTAMP     NOT NULL
+);
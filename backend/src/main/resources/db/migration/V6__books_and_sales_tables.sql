@@ -0,0 +1,20 @@
+-- Core tables, owned by Flyway from now on (spring.jpa.hibernate.ddl-auto=none).
+-- Databases created earlier by ddl-auto already have them with the same columns;
+-- IF NOT EXISTS keeps this a no-op there.
+
+CREATE TABLE IF NOT EXISTS books (
+    id             BIGINT         PRIMARY KEY,
+    title          VARCHAR(200)   NOT NULL,
+    author         VARCHAR(100)   NOT NULL,
+    isbn           VARCHAR(13)    UNIQUE,
+    price          NUMERIC(10, 2) NOT NULL,
+    stock_quantity INTEGER        NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS sales (
+    id            BIGINT         PRIMARY KEY,
+    book_id       BIGINT         NOT NULL,
+    quantity_sold INTEGER        NOT NULL,
+    sale_date     TIMESTAMP      NOT NULL,
+    total_amount  NUMERIC(10, 2) NOT NULL
+);
@@ -0,0 +1,58 @@
+-- Partition sales by month of sale_date (declarative RANGE partitioning).
+-- - date range queries only touch the months they cover (partition pruning)
+-- - old months can be detached as a whole instead of DELETE + VACUUM
+-- SalesPartitionService creates the next months and detaches expired ones.
+--
+-- The partition key must be part of every unique index, so the primary key
+-- becomes (id, sale_date); ids still come from sales_seq and stay unique.
+-- Rows outside every monthly partition land in sales_default.
+--
+-- Existing rows are copied into the new table once (one-time rewrite of sales).
+--
+-- The sales indexes are defined here, on the partitioned table (every partition
+-- gets its own). They are created on the new, still empty table inside the
+-- migration's transaction, so no CONCURRENTLY build is needed.
+
+DO $$
+DECLARE
+    first_month DATE;
+    last_month  DATE := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+    month       DATE;
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = 'sales'::regclass) = 'p' THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE sales RENAME TO sales_unpartitioned;
+    ALTER TABLE sales_unpartitioned RENAME CONSTRAINT sales_pkey TO sales_unpartitioned_pkey;
+
+    CREATE TABLE sales (
+        id            BIGINT         NOT NULL,
+        book_id       BIGINT         NOT NULL,
+        quantity_sold INTEGER        NOT NULL,
+        sale_date     TIMESTAMP      NOT NULL,
+        total_amount  NUMERIC(10, 2) NOT NULL,
+        PRIMARY KEY (id, sale_date)
+    ) PARTITION BY RANGE (sale_date);
+
+    -- Sales listing (keyset pagination ORDER BY sale_date DESC, id DESC) and every
+    -- sale_date range filter; INCLUDE total_amount makes the revenue sums index-only
+    CREATE INDEX idx_sales_sale_date_id ON sales (sale_date, id) INCLUDE (total_amount);
+    -- Per-book sales, optionally limited to a period
+    CREATE INDEX idx_sales_book_id_sale_date ON sales (book_id, sale_date);
+
+    CREATE TABLE sales_default PARTITION OF sales DEFAULT;
+
+    SELECT date_trunc('month', COALESCE(MIN(sale_date), now()))::date INTO first_month FROM sales_unpartitioned;
+    month := first_month;
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF sales FOR VALUES FROM (%L) TO (%L)',
+                       'sales_p' || to_char(month, 'YYYY_MM'), month, (month + INTERVAL '1 month')::date);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+
+    INSERT INTO sales (id, book_id, quantity_sold, sale_date, total_amount)
+    SELECT id, book_id, quantity_sold, sale_date, total_amount FROM sales_unpartitioned;
+
+    DROP TABLE sales_unpartitioned;
+END $$;
@@ -0,0 +1,20 @@
+-- Aggregates of the sales partitions detached by the retention policy
+-- (see SalesPartitionService.detachPartition).
+-- A detached month leaves the sales ledger, but its sales still count towards
+-- the lifetime totals, the per-book counters and the old hourly buckets: the
+-- aggregate rebuild adds these tables to what it computes from the ledger.
+-- Lifetime totals are the sum of the detached hourly buckets.
+
+CREATE TABLE IF NOT EXISTS sales_hourly_rollup_detached (
+    bucket_start TIMESTAMP(6)   PRIMARY KEY,
+    revenue      NUMERIC(19, 2) NOT NULL,
+    sale_count   BIGINT         NOT NULL,
+    units_sold   BIGINT         NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS book_sales_stats_detached (
+    book_id    BIGINT         PRIMARY KEY,
+    units_sold BIGINT         NOT NULL,
+    sale_count BIGINT         NOT NULL,
+    revenue    NUMERIC(19, 2) NOT NULL
+);
@@ -0,0 +1,29 @@
+package com.bookstore;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Base class for tests that run the full application against PostgreSQL
+ * 
+ * All subclasses share one Spring context (same properties), so the schema is
+ * migrated once per run. The polling jobs (outbox relay, analytics push, alert
+ * flush) run once at startup and then stay idle, so they do not issue
+ * statements while a test is measuring.
+ */
+@SpringBootTest(properties = {
+        "bookstore.outbox.poll-interval-ms=3600000",
+        "bookstore.analytics.push-interval-ms=3600000",
+        "bookstore.alerts.low-stock.flush-interval-ms=3600000",
+        "logging.level.com.bookstore=WARN"
+})
+public abstract class PostgresIntegrationTest {
+    
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PostgresTestDatabase::jdbcUrl);
+        registry.add("spring.datasource.username", () -> PostgresTestDatabase.USERNAME);
+        registry.add("spring.datasource.password", () -> PostgresTestDatabase.PASSWORD);
+    }
+}
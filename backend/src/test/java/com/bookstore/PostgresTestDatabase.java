@@ -0,0 +1,83 @@
+package com.bookstore;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * PostgresTestDatabase - the PostgreSQL server used by the integration tests
+ * 
+ * Chosen once per test JVM:
+ * 1. bookstore.test.jdbc-url (system property) or BOOKSTORE_TEST_JDBC_URL, if set
+ * 2. otherwise an embedded PostgreSQL (downloaded binaries, temp directory)
+ * 3. if that cannot start (initdb refuses to run as root), the bookstore_test
+ *    database of the local server (localhost:5432, postgres/postgres), created if missing
+ * 
+ * Flyway migrates whichever database is used when the Spring context starts.
+ */
+@Slf4j
+public final class PostgresTestDatabase {
+    
+    public static final String USERNAME = "postgres";
+    public static final String PASSWORD = "postgres";
+    
+    private static final String LOCAL_SERVER = "jdbc:postgresql://localhost:5432/";
+    private static final String LOCAL_DATABASE = "bookstore_test";
+    
+    private static String jdbcUrl;
+    
+    private PostgresTestDatabase() {
+    }
+    
+    public static synchronized String jdbcUrl() {
+        if (jdbcUrl == null) {
+            jdbcUrl = resolveJdbcUrl();
+            log.info("Integration tests use PostgreSQL at {}", jdbcUrl);
+        }
+        return jdbcUrl;
+    }
+    
+    private static String resolveJdbcUrl() {
+        String configured = System.getProperty("bookstore.test.jdbc-url", System.getenv("BOOKSTORE_TEST_JDBC_URL"));
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException e) {
+                    log.warn("Could not stop embedded PostgreSQL", e);
+                }
+            }));
+            return postgres.getJdbcUrl(USERNAME, "postgres");
+        } catch (IOException | RuntimeException e) {
+            log.warn("Embedded PostgreSQL did not start ({}), using {}{}", e.getMessage(), LOCAL_SERVER, LOCAL_DATABASE);
+            createLocalDatabase();
+            return LOCAL_SERVER + LOCAL_DATABASE;
+        }
+    }
+    
+    private static void createLocalDatabase() {
+        try (Connection connection = DriverManager.getConnection(LOCAL_SERVER + "postgres", USERNAME, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT 1 FROM pg_database WHERE datname = '" + LOCAL_DATABASE + "'")) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+            statement.execute("CREATE DATABASE " + LOCAL_DATABASE);
+        } catch (SQLException e) {
+            throw new IllegalStateException("No PostgreSQL for the integration tests: embedded PostgreSQL did not start " +
+                    "and " + LOCAL_SERVER + " is not reachable (set bookstore.test.jdbc-url)", e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.bookstore.service;
+
+import com.bookstore.PostgresIntegrationTest;
+import com.bookstore.dto.BookDTO;
+import com.bookstore.dto.SaleDTO;
+import com.bookstore.repository.SaleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Revenue from the hourly rollup plus the raw edges must equal the revenue
+ * summed from the sales ledger, for ranges cutting the buckets in every way
+ * 
+ * Sales sit on bucket starts, inside buckets and on the last microsecond of
+ * a bucket (the both-ends-inclusive range makes the edges matter).
+ */
+class RevenueByDateRangeTest extends PostgresIntegrationTest {
+    
+    private static final LocalDateTime DAY = LocalDateTime.of(2002, 3, 10, 0, 0);
+    
+    @Autowired
+    private PerformanceAnalysisService performanceAnalysisService;
+    
+    @Autowired
+    private SaleRepository saleRepository;
+    
+    @Autowired
+    private SaleService saleService;
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Test
+    void rollupRevenueMatchesLedger() {
+        String isbn = String.format("%013d", System.nanoTime() % 10_000_000_000_000L);
+        Long bookId = bookService.createBook(new BookDTO(null, "Revenue", "Test Author", isbn,
+                new BigDecimal("5.00"), 1000)).getId();
+        
+        List<LocalDateTime> saleTimes = List.of(
+                justBefore(10), at(10, 0), at(10, 30), justBefore(11),
+                at(11, 0), at(11, 15), at(12, 0), at(12, 45), at(13, 0));
+        List<SaleDTO> sales = new ArrayList<>();
+        for (int i = 0; i < saleTimes.size(); i++) {
+            // A different quantity per sale, so a sale counted twice or missed changes the sum
+            sales.add(new SaleDTO(null, bookId, null, i + 1, saleTimes.get(i), null));
+        }
+        saleService.createSales(sales);
+        
+        List<LocalDateTime[]> ranges = List.of(
+                // Inside a single hour
+                range(at(10, 10), at(10, 50)),
+                // Start and end on hour boundaries
+                range(at(10, 0), at(12, 0)),
+                // End equal to the start of the next bucket
+                range(at(10, 30), at(11, 0)),
+                range(at(10, 0), at(11, 0)),
+                // Start on a boundary, end inside an hour
+                range(at(11, 0), at(12, 45)),
+                // Partial hours at both ends
+                range(at(10, 30), at(12, 30)),
+                // Last microsecond of one bucket to the start of the next
+                range(justBefore(11), at(11, 0)),
+                // A single instant on a boundary (both ends inclusive)
+                range(at(11, 0), at(11, 0)),
+                // Whole day
+                range(DAY, DAY.plusDays(1)));
+        
+        for (LocalDateTime[] range : ranges) {
+            assertThat(performanceAnalysisService.getRevenueByDateRange(range[0], range[1]))
+                    .as("revenue from %s to %s", range[0], range[1])
+                    .isEqualByComparingTo(saleRepository.getRevenueByDateRange(range[0], range[1]));
+        }
+        assertThat(performanceAnalysisService.getRevenueByDateRange(DAY, DAY.plusDays(1)))
+                .isGreaterThanOrEqualTo(new BigDecimal("225.00"));
+    }
+    
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.withHour(hour).withMinute(minute);
+    }
+    
+    /**
+     * Last microsecond (timestamp precision) of the hour before
+     */
+    private static LocalDateTime justBefore(int hour) {
+        return at(hour, 0).minusNanos(1_000);
+    }
+    
+    private static LocalDateTime[] range(LocalDateTime from, LocalDateTime to) {
+        return new LocalDateTime[] {from, to};
+    }
+}
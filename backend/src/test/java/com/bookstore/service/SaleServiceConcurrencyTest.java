@@ -0,0 +1,82 @@
+package com.bookstore.service;
+
+import com.bookstore.PostgresIntegrationTest;
+import com.bookstore.dto.BookDTO;
+import com.bookstore.dto.SaleDTO;
+import com.bookstore.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent sales of the same book must never oversell
+ * 
+ * The stock is taken by a conditional UPDATE (stock >= quantity), so with N units
+ * in stock exactly N of the single-unit sales commit and the rest are rejected.
+ */
+class SaleServiceConcurrencyTest extends PostgresIntegrationTest {
+    
+    private static final int STOCK = 250;
+    private static final int CONCURRENT_SALES = 1000;
+    private static final int CLIENT_THREADS = 64;
+    
+    @Autowired
+    private SaleService saleService;
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private BookRepository bookRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void concurrentSalesSellExactlyTheStock() throws InterruptedException {
+        String isbn = String.format("%013d", System.nanoTime() % 10_000_000_000_000L);
+        Long bookId = bookService.createBook(new BookDTO(null, "Concurrency", "Test Author", isbn,
+                new BigDecimal("10.00"), STOCK)).getId();
+        
+        AtomicInteger succeeded = new AtomicInteger();
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+        try {
+            for (int i = 0; i < CONCURRENT_SALES; i++) {
+                clients.execute(() -> {
+                    try {
+                        start.await();
+                        saleService.createSale(new SaleDTO(null, bookId, null, 1, null, null));
+                        succeeded.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException e) {
+                        failures.add(String.valueOf(e.getMessage()));
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            clients.shutdown();
+            assertThat(clients.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        }
+        
+        assertThat(succeeded.get()).isEqualTo(STOCK);
+        // Rejected only for lack of stock (not e.g. connection timeouts)
+        assertThat(failures).hasSize(CONCURRENT_SALES - STOCK)
+                .allMatch(message -> message.startsWith("Insufficient stock"));
+        assertThat(bookRepository.findById(bookId).orElseThrow().getStockQuantity()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM sales WHERE book_id = ?", Long.class, bookId))
+                .isEqualTo(STOCK);
+    }
+}
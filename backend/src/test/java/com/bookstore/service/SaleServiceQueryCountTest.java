@@ -0,0 +1,61 @@
+package com.bookstore.service;
+
+import com.bookstore.PostgresIntegrationTest;
+import com.bookstore.dto.BookDTO;
+import com.bookstore.dto.SaleDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * getAllSales must not issue a query per sale (N+1) to resolve book titles
+ * 
+ * Counted with Hibernate statistics (hibernate.generate_statistics=true).
+ */
+class SaleServiceQueryCountTest extends PostgresIntegrationTest {
+    
+    private static final int SALES = 10_000;
+    private static final int BOOKS = 20;
+    
+    @Autowired
+    private SaleService saleService;
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Test
+    void getAllSalesUsesOneStatement() {
+        List<Long> bookIds = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            String isbn = String.format("%013d", (System.nanoTime() + i) % 10_000_000_000_000L);
+            bookIds.add(bookService.createBook(new BookDTO(null, "Query Count " + i, "Test Author", isbn,
+                    new BigDecimal("5.00"), SALES)).getId());
+        }
+        List<SaleDTO> sales = new ArrayList<>(SALES);
+        for (int i = 0; i < SALES; i++) {
+            sales.add(new SaleDTO(null, bookIds.get(i % BOOKS), null, 1, null, null));
+        }
+        saleService.createSales(sales);
+        
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        
+        List<SaleDTO> allSales = saleService.getAllSales();
+        
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(allSales).hasSizeGreaterThanOrEqualTo(SALES)
+                .filteredOn(sale -> bookIds.contains(sale.getBookId()))
+                .hasSize(SALES)
+                .allMatch(sale -> sale.getBookTitle().startsWith("Query Count "));
+    }
+}
@@ -0,0 +1,94 @@
+package com.bookstore.service;
+
+import com.bookstore.PostgresIntegrationTest;
+import com.bookstore.dto.BookDTO;
+import com.bookstore.dto.SaleDTO;
+import com.bookstore.entity.BookSalesStats;
+import com.bookstore.repository.BookSalesStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The rebuild repairs drifted aggregates without losing sales that commit meanwhile
+ * 
+ * The aggregates are corrupted by hand, then rebuilt several times while
+ * another thread keeps selling; afterwards they must match the ledger.
+ */
+class SalesAggregateRebuildTest extends PostgresIntegrationTest {
+    
+    private static final int CONCURRENT_SALES = 200;
+    private static final int REBUILDS = 5;
+    
+    @Autowired
+    private SalesAggregateService salesAggregateService;
+    
+    @Autowired
+    private SaleService saleService;
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private BookSalesStatsRepository bookSalesStatsRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void rebuildRepairsDriftWhileSalesCommit() throws Exception {
+        Long driftedBook = createBook("Drifted", 100);
+        Long busyBook = createBook("Busy", CONCURRENT_SALES);
+        for (int i = 0; i < 10; i++) {
+            saleService.createSale(new SaleDTO(null, driftedBook, null, 2, null, null));
+        }
+        LocalDateTime hour = jdbcTemplate.queryForObject(
+                "SELECT date_trunc('hour', MIN(sale_date)) FROM sales WHERE book_id = ?", LocalDateTime.class, driftedBook);
+        
+        // Drift: counters, one bucket and the totals off by hand
+        jdbcTemplate.update("UPDATE book_sales_stats SET units_sold = units_sold + 7, sale_count = sale_count + 7 " +
+                "WHERE book_id = ?", driftedBook);
+        jdbcTemplate.update("UPDATE sales_hourly_rollup SET revenue = revenue + 1000 WHERE bucket_start = ?", hour);
+        jdbcTemplate.update("UPDATE sales_summary SET total_sales = total_sales + 3");
+        
+        CompletableFuture<Void> selling = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < CONCURRENT_SALES; i++) {
+                saleService.createSale(new SaleDTO(null, busyBook, null, 1, null, null));
+            }
+        });
+        for (int i = 0; i < REBUILDS; i++) {
+            salesAggregateService.rebuildFromLedger();
+        }
+        selling.get(5, TimeUnit.MINUTES);
+        
+        assertThat(counters(driftedBook)).isEqualTo(new BookSalesStats(driftedBook, 20L, 10L, new BigDecimal("100.00")));
+        assertThat(counters(busyBook)).isEqualTo(
+                new BookSalesStats(busyBook, (long) CONCURRENT_SALES, (long) CONCURRENT_SALES, new BigDecimal("1000.00")));
+        assertThat(jdbcTemplate.queryForObject("SELECT revenue FROM sales_hourly_rollup WHERE bucket_start = ?",
+                BigDecimal.class, hour))
+                .isEqualByComparingTo(jdbcTemplate.queryForObject(
+                        "SELECT SUM(total_amount) FROM sales WHERE sale_date >= ? AND sale_date < ?",
+                        BigDecimal.class, hour, hour.plusHours(1)));
+        assertThat(salesAggregateService.getSummary().getTotalSales()).isEqualTo(jdbcTemplate.queryForObject(
+                "SELECT (SELECT count(*) FROM sales) + " +
+                "(SELECT COALESCE(SUM(sale_count), 0) FROM sales_hourly_rollup_detached)", Long.class));
+    }
+    
+    private Long createBook(String title, int stock) {
+        String isbn = String.format("%013d", System.nanoTime() % 10_000_000_000_000L);
+        return bookService.createBook(new BookDTO(null, title, "Test Author", isbn, new BigDecimal("5.00"), stock)).getId();
+    }
+    
+    private BookSalesStats counters(Long bookId) {
+        List<BookSalesStats> counters = bookSalesStatsRepository.findCounters(List.of(bookId));
+        assertThat(counters).hasSize(1);
+        return counters.get(0);
+    }
+}
@@ -0,0 +1,91 @@
+package com.bookstore.service;
+
+import com.bookstore.PostgresIntegrationTest;
+import com.bookstore.dto.BookDTO;
+import com.bookstore.dto.SaleDTO;
+import com.bookstore.entity.BookSalesStats;
+import com.bookstore.entity.SalesSummary;
+import com.bookstore.repository.BookSalesStatsRepository;
+import com.bookstore.repository.SalesHourlyRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Detaching a month must not change the aggregates, not even after a rebuild
+ * 
+ * The detached month's sales leave the ledger but are kept in the detached
+ * aggregates, which the rebuild adds back. The month can then be created again.
+ */
+class SalesPartitionRetentionTest extends PostgresIntegrationTest {
+    
+    private static final YearMonth MONTH = YearMonth.of(2001, 1);
+    private static final int SALES = 50;
+    
+    @Autowired
+    private SalesPartitionService salesPartitionService;
+    
+    @Autowired
+    private SalesAggregateService salesAggregateService;
+    
+    @Autowired
+    private SaleService saleService;
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private BookSalesStatsRepository bookSalesStatsRepository;
+    
+    @Autowired
+    private SalesHourlyRollupRepository salesHourlyRollupRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void detachedSalesSurviveRebuild() {
+        String isbn = String.format("%013d", System.nanoTime() % 10_000_000_000_000L);
+        Long bookId = bookService.createBook(new BookDTO(null, "Retention", "Test Author", isbn,
+                new BigDecimal("4.00"), SALES)).getId();
+        String partition = "sales_p" + MONTH.toString().replace('-', '_');
+        salesPartitionService.createPartition(MONTH);
+        
+        // Spread over several hours of the month, one unit each
+        LocalDateTime monthStart = MONTH.atDay(1).atStartOfDay();
+        List<SaleDTO> sales = new ArrayList<>(SALES);
+        for (int i = 0; i < SALES; i++) {
+            sales.add(new SaleDTO(null, bookId, null, 1, monthStart.plusHours(i % 5).plusMinutes(i), null));
+        }
+        saleService.createSales(sales);
+        
+        salesAggregateService.rebuildFromLedger();
+        SalesSummary summary = salesAggregateService.getSummary();
+        List<BookSalesStats> bookStats = bookSalesStatsRepository.findCounters(List.of(bookId));
+        BigDecimal monthRevenue = salesHourlyRollupRepository.sumRevenue(monthStart, monthStart.plusMonths(1));
+        assertThat(bookStats).singleElement()
+                .satisfies(stats -> assertThat(stats.getSaleCount()).isEqualTo(SALES));
+        
+        String archive = salesPartitionService.detachPartition(partition);
+        salesAggregateService.rebuildFromLedger();
+        
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM sales WHERE book_id = ?", Long.class, bookId))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM " + archive + " WHERE book_id = ?", Long.class, bookId))
+                .isEqualTo(SALES);
+        assertThat(salesAggregateService.getSummary()).isEqualTo(summary);
+        assertThat(bookSalesStatsRepository.findCounters(List.of(bookId))).isEqualTo(bookStats);
+        assertThat(salesHourlyRollupRepository.sumRevenue(monthStart, monthStart.plusMonths(1)))
+                .isEqualByComparingTo(monthRevenue);
+        
+        // The month's name is free again
+        assertThat(salesPartitionService.createPartition(MONTH)).isTrue();
+    }
+}
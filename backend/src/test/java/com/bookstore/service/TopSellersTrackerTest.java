@@ -0,0 +1,78 @@
+package com.bookstore.service;
+
+import com.bookstore.entity.BookSalesStats;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A re-seed must not undo sales recorded while its snapshot was loading,
+ * but must still apply corrections to books that did not sell meanwhile
+ */
+class TopSellersTrackerTest {
+    
+    private final TopSellersTracker tracker = new TopSellersTracker(3);
+    
+    @Test
+    void resetKeepsSalesRecordedDuringTheLoad() {
+        tracker.reset(List.of(stats(1L, 5), stats(2L, 4)), tracker.version());
+        
+        long loadedAfter = tracker.version();
+        List<BookSalesStats> snapshot = List.of(stats(1L, 5), stats(2L, 4));
+        // Committed after the snapshot was read, recorded before reset
+        tracker.recordSales(stats(1L, 6));
+        tracker.recordSales(stats(3L, 1));
+        tracker.reset(snapshot, loadedAfter);
+        
+        assertThat(tracker.top(3)).containsExactly(stats(1L, 6), stats(2L, 4), stats(3L, 1));
+    }
+    
+    @Test
+    void resetAppliesCorrectionsToBooksNotSoldMeanwhile() {
+        tracker.reset(List.of(stats(1L, 9), stats(2L, 4)), tracker.version());
+        tracker.recordSales(stats(2L, 5));
+        
+        // Book 1 was over-counted and corrected by the rebuild
+        long loadedAfter = tracker.version();
+        tracker.reset(List.of(stats(1L, 7), stats(2L, 5)), loadedAfter);
+        
+        assertThat(tracker.top(3)).containsExactly(stats(1L, 7), stats(2L, 5));
+    }
+    
+    @Test
+    void concurrentResetNeverLosesARecordedSale() throws Exception {
+        int sales = 20_000;
+        AtomicLong committed = new AtomicLong();
+        AtomicBoolean selling = new AtomicBoolean(true);
+        tracker.reset(List.of(), tracker.version());
+        
+        // Reseeds from "the database", which may already be behind once reset runs
+        CompletableFuture<Void> reseeding = CompletableFuture.runAsync(() -> {
+            while (selling.get()) {
+                long loadedAfter = tracker.version();
+                BookSalesStats loaded = stats(1L, committed.get());
+                // Lets sales be recorded between the load and the reset
+                Thread.yield();
+                tracker.reset(List.of(loaded), loadedAfter);
+            }
+        });
+        for (int i = 1; i <= sales; i++) {
+            committed.set(i);
+            tracker.recordSales(stats(1L, i));
+        }
+        selling.set(false);
+        reseeding.get(1, TimeUnit.MINUTES);
+        
+        assertThat(tracker.top(1)).containsExactly(stats(1L, sales));
+    }
+    
+    private static BookSalesStats stats(Long bookId, long sales) {
+        return new BookSalesStats(bookId, sales, sales, BigDecimal.TEN.multiply(BigDecimal.valueOf(sales)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.bookstore.config;
+
+import com.bookstore.service.SlowQueryLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SlowQueryDataSourceBenchmark - Cost of the slow query proxies per statement
+ * 
+ * One sale-like statement (get connection, prepare, bind two parameters,
+ * executeUpdate, close) against a fake DataSource that does no I/O, directly
+ * and through SlowQueryDataSource. The difference is what every JDBC
+ * statement pays when bookstore.persistence.slow-query.enabled=true (the
+ * statement is never slow here, so nothing is recorded).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlowQueryDataSourceBenchmark {
+    
+    private static final String SQL = "UPDATE books SET stock_quantity = stock_quantity - ? WHERE id = ?";
+    
+    private DataSource direct;
+    private DataSource timed;
+    
+    @Setup
+    public void setUp() {
+        direct = fakeDataSource();
+        timed = new SlowQueryDataSource(direct, new SlowQueryLog(Duration.ofMillis(100), 50));
+    }
+    
+    @Benchmark
+    public int direct() throws SQLException {
+        return executeUpdate(direct);
+    }
+    
+    @Benchmark
+    public int slowQueryDataSource() throws SQLException {
+        return executeUpdate(timed);
+    }
+    
+    private static int executeUpdate(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SQL)) {
+            statement.setInt(1, 1);
+            statement.setLong(2, 42L);
+            return statement.executeUpdate();
+        }
+    }
+    
+    /**
+     * DataSource whose connections prepare statements that update one row;
+     * the same fake is used with and without the wrapper
+     */
+    private static DataSource fakeDataSource() {
+        PreparedStatement statement = fake(PreparedStatement.class, "executeUpdate", 1);
+        Connection connection = fake(Connection.class, "prepareStatement", statement);
+        return fake(DataSource.class, "getConnection", connection);
+    }
+    
+    private static <T> T fake(Class<T> type, String methodName, Object result) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    if (method.getName().equals(methodName)) {
+                        return result;
+                    }
+                    // setXxx and close
+                    return method.getReturnType() == boolean.class ? false : null;
+                }));
+    }
+}
@@ -0,0 +1,54 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.BookDTO;
+import com.bookstore.entity.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookConversionBenchmark - BookService entity/DTO conversion
+ * 
+ * Runs on every book read and write; mostly an allocation check (-prof gc).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookConversionBenchmark {
+    
+    private BookService bookService;
+    private Book book;
+    private BookDTO bookDTO;
+    
+    @Setup
+    public void setUp() {
+        bookService = new BookService(InMemoryRepositories.bookRepository(new HashMap<>()),
+                new BookCache(10_000, Duration.ofMinutes(10)), event -> { });
+        book = new Book(42L, "Clean Code", "Robert C. Martin", "9780132350884", new BigDecimal("37.99"), 12);
+        bookDTO = new BookDTO(42L, "Clean Code", "Robert C. Martin", "9780132350884", new BigDecimal("37.99"), 12);
+    }
+    
+    @Benchmark
+    public BookDTO convertToDTO() {
+        return bookService.convertToDTO(book);
+    }
+    
+    @Benchmark
+    public Book convertToEntity() {
+        return bookService.convertToEntity(bookDTO);
+    }
+}
@@ -0,0 +1,89 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.SaleDTO;
+import com.bookstore.entity.Book;
+import com.bookstore.repository.BookSalesStatsRepository;
+import com.bookstore.repository.SalesHourlyRollupRepository;
+import com.bookstore.repository.SalesSummaryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CreateSaleBenchmark - SaleService.createSale without a database
+ * 
+ * Covers validation, the stock decrement call, the amount calculation, the
+ * aggregate bookkeeping, the DTO conversion and the phase timers, against in-memory
+ * repositories. The rejected path measures the cost of a validation failure
+ * (exception creation included).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreateSaleBenchmark {
+    
+    private static final long BOOK_ID = 1L;
+    
+    private final Map<Long, Book> books = new HashMap<>();
+    private SaleService saleService;
+    private SaleDTO sale;
+    private SaleDTO invalidSale;
+    
+    @Setup
+    public void setUp() {
+        BookService bookService = new BookService(InMemoryRepositories.bookRepository(books),
+                new BookCache(10_000, Duration.ofMinutes(10)), event -> { });
+        SalesAggregateService salesAggregateService = new SalesAggregateService(
+                InMemoryRepositories.upsertRepository(SalesSummaryRepository.class),
+                InMemoryRepositories.upsertRepository(SalesHourlyRollupRepository.class),
+                InMemoryRepositories.upsertRepository(BookSalesStatsRepository.class),
+                new TopSellersTracker(100));
+        saleService = new SaleService(InMemoryRepositories.saleRepository(), bookService,
+                salesAggregateService, Jackson2ObjectMapperBuilder.json().build(), event -> { },
+                new SaleMetrics(new SimpleMeterRegistry()));
+        
+        sale = new SaleDTO(null, BOOK_ID, null, 2, null, null);
+        invalidSale = new SaleDTO(null, BOOK_ID, null, 0, null, null);
+    }
+    
+    /**
+     * Fresh stock every iteration, so the sale path never runs out
+     */
+    @Setup(Level.Iteration)
+    public void restock() {
+        books.put(BOOK_ID, new Book(BOOK_ID, "Clean Code", "Robert C. Martin", "9780132350884",
+                new BigDecimal("37.99"), Integer.MAX_VALUE));
+    }
+    
+    @Benchmark
+    public SaleDTO createSale() {
+        return saleService.createSale(sale);
+    }
+    
+    @Benchmark
+    public Object createSaleRejected() {
+        try {
+            return saleService.createSale(invalidSale);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.bookstore.service;
+
+import com.bookstore.entity.Book;
+import com.bookstore.entity.Sale;
+import com.bookstore.repository.BookRepository;
+import com.bookstore.repository.SaleRepository;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * InMemoryRepositories - Map-backed fakes of the Spring Data repositories
+ * 
+ * Built as dynamic proxies: only the methods a benchmark path calls are
+ * implemented, anything else fails loudly instead of silently measuring a
+ * no-op. No database, no Spring context - the numbers show the cost of the
+ * service code itself.
+ */
+final class InMemoryRepositories {
+    
+    private InMemoryRepositories() {
+    }
+    
+    /**
+     * BookRepository over a map of books (stock is decremented in place)
+     */
+    static BookRepository bookRepository(Map<Long, Book> books) {
+        return fake(BookRepository.class, Map.of(
+                "findById", args -> Optional.ofNullable(books.get((Long) args[0])),
+                "decrementStock", args -> {
+                    Book book = books.get((Long) args[0]);
+                    int quantity = (Integer) args[1];
+                    if (book == null || book.getStockQuantity() < quantity) {
+                        return 0;
+                    }
+                    book.setStockQuantity(book.getStockQuantity() - quantity);
+                    return 1;
+                }));
+    }
+    
+    /**
+     * SaleRepository that assigns ids and keeps nothing
+     */
+    static SaleRepository saleRepository() {
+        AtomicLong ids = new AtomicLong();
+        return fake(SaleRepository.class, Map.of(
+                "save", args -> {
+                    Sale sale = (Sale) args[0];
+                    sale.setId(ids.incrementAndGet());
+                    return sale;
+                }));
+    }
+    
+    /**
+     * Repository whose upserts (addSales) report one affected row
+     * (and, for the per-book counters, read back no rows)
+     */
+    static <T> T upsertRepository(Class<T> type) {
+        return fake(type, Map.of("addSales", args -> 1, "findCounters", args -> List.of()));
+    }
+    
+    private static <T> T fake(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    Function<Object[], Object> handler = methods.get(method.getName());
+                    if (handler != null) {
+                        return handler.apply(args);
+                    }
+                    switch (method.getName()) {
+                        case "toString":
+                            return "InMemory" + type.getSimpleName();
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException("Not faked: " + method);
+                    }
+                }));
+    }
+}
@@ -0,0 +1,96 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.BookDTO;
+import com.bookstore.dto.PerformanceMetricsDTO;
+import com.bookstore.dto.PerformanceMetricsDTO.TopBookDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonSerializationBenchmark - Response bodies of the busiest endpoints
+ * 
+ * Uses an ObjectMapper built like Spring Boot's (Jackson2ObjectMapperBuilder)
+ * and a pre-resolved ObjectWriter, as the message converters do.
+ * - GET /api/analytics/summary -> PerformanceMetricsDTO with 10 top books
+ * - GET /api/books             -> List<BookDTO> of 100 / 1000 books
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    
+    private ObjectWriter metricsWriter;
+    private ObjectWriter booksWriter;
+    private PerformanceMetricsDTO metrics;
+    
+    /**
+     * Book list of each size (only used by bookList)
+     */
+    @State(Scope.Benchmark)
+    public static class Catalog {
+        
+        @Param({"100", "1000"})
+        private int catalogSize;
+        
+        private List<BookDTO> books;
+        
+        @Setup
+        public void setUp() {
+            books = new ArrayList<>(catalogSize);
+            for (long i = 1; i <= catalogSize; i++) {
+                books.add(new BookDTO(i, "Book title " + i, "Author " + (i % 50),
+                        String.format("978%010d", i), new BigDecimal("24.95"), (int) (i % 200)));
+            }
+        }
+    }
+    
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        metricsWriter = objectMapper.writerFor(PerformanceMetricsDTO.class);
+        booksWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, BookDTO.class));
+        
+        List<TopBookDTO> topBooks = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            topBooks.add(new TopBookDTO(i, "Book " + i, "Author " + i, 1000 - i * 10,
+                    new BigDecimal("19.99").multiply(BigDecimal.valueOf(1000 - i * 10))));
+        }
+        metrics = PerformanceMetricsDTO.builder()
+                .totalRevenue(new BigDecimal("1234567.89"))
+                .totalSales(98_765L)
+                .totalBooksSold(123_456L)
+                .topSellingBooks(topBooks)
+                .build();
+    }
+    
+    @Benchmark
+    public byte[] performanceMetrics() throws JsonProcessingException {
+        return metricsWriter.writeValueAsBytes(metrics);
+    }
+    
+    @Benchmark
+    public byte[] bookList(Catalog catalog) throws JsonProcessingException {
+        return booksWriter.writeValueAsBytes(catalog.books);
+    }
+}
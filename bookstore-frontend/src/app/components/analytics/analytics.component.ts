@@ -8,7 +8,7 @@ import { MatTableModule } from '@angular/material/table';
 import { MatProgressSpinnerModule } from '@angular/material/progress-spinner';
 import { ApiService } from '../../services/api.service';
 import { WebSocketService } from '../../services/websocket.service';
-import { PerformanceMetrics, TopBook } from '../../models/performance-metrics.model';
+import { AnalyticsUpdate, PerformanceMetrics, TopBook } from '../../models/performance-metrics.model';
 
 /**
  * AnalyticsDashboardComponent - Performance Metrics Display
@@ -19,6 +19,8 @@ import { PerformanceMetrics, TopBook } from '../../models/performance-metrics.mo
  * - Total books sold
  * - Top selling books
  * 
+ * Loaded once over REST, then kept current by the throttled updates the
+ * server pushes on /topic/analytics (no polling).
  * Also displays real-time low stock alerts via WebSocket.
  * 
  * Interview Points:
@@ -240,6 +242,7 @@ export class AnalyticsDashboardComponent implements OnInit {
   ngOnInit(): void {
     this.loadMetrics();
     this.subscribeToWebSocket();
+    this.subscribeToAnalytics();
     this.subscribeToConnection();
   }
 
@@ -272,6 +275,38 @@ export class AnalyticsDashboardComponent implements OnInit {
     });
   }
 
+  /**
+   * Subscribe to live analytics updates
+   */
+  subscribeToAnalytics(): void {
+    this.wsService.analyticsUpdates$.subscribe((update) => this.applyAnalyticsUpdate(update));
+  }
+
+  /**
+   * Apply a pushed update: totals are absolute, top books only for changed ranks,
+   * then cut to the current ranking length (it shrinks when a book drops out)
+   */
+  private applyAnalyticsUpdate(update: AnalyticsUpdate): void {
+    if (!this.metrics) return;
+
+    const topSellingBooks: TopBook[] = [...this.metrics.topSellingBooks];
+    // Ranks arrive in ascending order, so new ranks extend the list without gaps
+    update.changedTopBooks.forEach((ranked) => {
+      if (ranked.rank <= topSellingBooks.length + 1) {
+        topSellingBooks[ranked.rank - 1] = ranked.book;
+      }
+    });
+    topSellingBooks.length = Math.min(topSellingBooks.length, update.topBooksCount);
+
+    // New object and array so the cards and mat-table re-render
+    this.metrics = {
+      totalRevenue: update.totalRevenue,
+      totalSales: update.totalSales,
+      totalBooksSold: update.totalBooksSold,
+      topSellingBooks
+    };
+  }
+
   /**
    * Subscribe to connection status
    */
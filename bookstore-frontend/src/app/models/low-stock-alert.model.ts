@@ -0,0 +1,18 @@
+/**
+ * Low Stock Alert Model - matches Java LowStockAlertBatchDTO
+ *
+ * The server publishes one batch per tick on /topic/low-stock,
+ * with at most one alert per book
+ */
+export interface LowStockAlertBatch {
+  generatedAt: string;   // ISO date string
+  alerts: LowStockAlert[];
+}
+
+export interface LowStockAlert {
+  bookId: number;
+  title: string;
+  author: string;
+  stockQuantity: number;
+  message: string;       // Human readable text for notifications
+}
@@ -12,8 +12,33 @@ export interface PerformanceMetrics {
 }
 
 export interface TopBook {
+  bookId: number;
   bookTitle: string;
   author: string;
   totalQuantitySold: number;
   totalRevenue: number;
 }
+
+/**
+ * Live analytics update pushed on /topic/analytics (matches Java AnalyticsUpdateDTO)
+ * 
+ * Totals are absolute; deltas are relative to the previous push.
+ * Only top-book ranks that changed are included; topBooksCount is the
+ * current list length (ranks beyond it were dropped).
+ */
+export interface AnalyticsUpdate {
+  generatedAt: string;   // ISO date string
+  totalRevenue: number;
+  totalSales: number;
+  totalBooksSold: number;
+  revenueDelta: number;
+  salesDelta: number;
+  booksSoldDelta: number;
+  changedTopBooks: RankedTopBook[];
+  topBooksCount: number;
+}
+
+export interface RankedTopBook {
+  rank: number;          // 1-based
+  book: TopBook;
+}
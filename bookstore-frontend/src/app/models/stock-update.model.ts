@@ -0,0 +1,11 @@
+/**
+ * Stock Update Model - matches Java StockUpdateDTO
+ *
+ * Published on /topic/stock/{bookId} whenever a sale or an edit changes
+ * the book's stock
+ */
+export interface StockUpdate {
+  bookId: number;
+  stockQuantity: number;   // Stock after the change
+  change: number;          // Difference to the previous stock (negative for sales)
+}
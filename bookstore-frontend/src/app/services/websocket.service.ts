@@ -1,13 +1,27 @@
 import { Injectable, OnDestroy } from '@angular/core';
 import { Observable, Subject, BehaviorSubject } from 'rxjs';
-import { Client, Frame } from '@stomp/stompjs';
+import { Client, Frame, StompSubscription } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
+import { LowStockAlertBatch } from '../models/low-stock-alert.model';
+import { AnalyticsUpdate } from '../models/performance-metrics.model';
+import { StockUpdate } from '../models/stock-update.model';
+
+/**
+ * One watched book: shared by every watchStock() subscriber of that book
+ */
+interface StockWatch {
+  subject: Subject<StockUpdate>;
+  subscription: StompSubscription | null;
+  watchers: number;
+}
 
 /**
  * WebSocketService - Real-Time Communication with Spring Boot
  * 
  * Handles WebSocket connection using STOMP protocol over SockJS.
- * Subscribes to /topic/low-stock for real-time low stock alerts.
+ * Subscribes to /topic/low-stock for real-time low stock alerts
+ * and to /topic/analytics for live dashboard updates.
+ * Per-book stock changes are available on demand through watchStock().
  * 
  * Interview Points:
  * - STOMP over WebSocket for pub/sub messaging
@@ -24,6 +38,8 @@ export class WebSocketService implements OnDestroy {
   
   // Topic to subscribe to
   private readonly LOW_STOCK_TOPIC = '/topic/low-stock';
+  private readonly ANALYTICS_TOPIC = '/topic/analytics';
+  private readonly STOCK_TOPIC_PREFIX = '/topic/stock/';
   
   // STOMP client
   private stompClient: Client | null = null;
@@ -32,6 +48,13 @@ export class WebSocketService implements OnDestroy {
   private lowStockSubject = new Subject<string>();
   public lowStockAlerts$ = this.lowStockSubject.asObservable();
   
+  // Observable for live analytics updates (throttled by the server)
+  private analyticsSubject = new Subject<AnalyticsUpdate>();
+  public analyticsUpdates$ = this.analyticsSubject.asObservable();
+  
+  // Watched books (STOMP subscriptions are re-created after a reconnect)
+  private stockWatches = new Map<number, StockWatch>();
+  
   // Connection status
   private connectedSubject = new BehaviorSubject<boolean>(false);
   public isConnected$ = this.connectedSubject.asObservable();
@@ -48,12 +71,14 @@ export class WebSocketService implements OnDestroy {
     this.stompClient = new Client({
       webSocketFactory: () => new SockJS(this.WS_URL),
       reconnectDelay: 5000,  // Reconnect every 5 seconds if connection fails
-      heartbeatIncoming: 4000,
-      heartbeatOutgoing: 4000,
+      heartbeatIncoming: 10000,  // matches the server heartbeat (bookstore.websocket.heartbeat.*)
+      heartbeatOutgoing: 10000,
       onConnect: () => {
         console.log('WebSocket connected');
         this.connectedSubject.next(true);
         this.subscribeToLowStock();
+        this.subscribeToAnalytics();
+        this.stockWatches.forEach((watch, bookId) => this.subscribeToStock(bookId, watch));
       },
       onDisconnect: () => {
         console.log('WebSocket disconnected');
@@ -75,12 +100,64 @@ export class WebSocketService implements OnDestroy {
     if (!this.stompClient) return;
 
     this.stompClient.subscribe(this.LOW_STOCK_TOPIC, (message: { body: string }) => {
-      // Parse message body (text message)
-      const alertMessage = message.body;
-      console.log('Low stock alert received:', alertMessage);
+      // Parse message body (JSON batch, at most one alert per book)
+      const batch = JSON.parse(message.body) as LowStockAlertBatch;
+      console.log('Low stock alerts received:', batch.alerts.length);
       
-      // Push to observable
-      this.lowStockSubject.next(alertMessage);
+      // Push each alert's text to the observable
+      batch.alerts.forEach((alert) => this.lowStockSubject.next(alert.message));
+    });
+  }
+
+  /**
+   * Subscribe to live analytics updates topic
+   */
+  private subscribeToAnalytics(): void {
+    if (!this.stompClient) return;
+
+    this.stompClient.subscribe(this.ANALYTICS_TOPIC, (message: { body: string }) => {
+      this.analyticsSubject.next(JSON.parse(message.body) as AnalyticsUpdate);
+    });
+  }
+
+  /**
+   * Live stock changes of one book
+   * 
+   * Only watched books are subscribed on the server, so a tablet showing a
+   * few hundred titles receives updates for those titles only.
+   * The STOMP subscription is dropped when the last watcher unsubscribes.
+   */
+  watchStock(bookId: number): Observable<StockUpdate> {
+    return new Observable<StockUpdate>((subscriber) => {
+      let watch = this.stockWatches.get(bookId);
+      if (!watch) {
+        watch = { subject: new Subject<StockUpdate>(), subscription: null, watchers: 0 };
+        this.stockWatches.set(bookId, watch);
+        this.subscribeToStock(bookId, watch);
+      }
+      const current = watch;
+      current.watchers++;
+      const inner = current.subject.subscribe(subscriber);
+
+      return () => {
+        inner.unsubscribe();
+        current.watchers--;
+        if (current.watchers === 0) {
+          current.subscription?.unsubscribe();
+          this.stockWatches.delete(bookId);
+        }
+      };
+    });
+  }
+
+  /**
+   * Subscribe to one book's stock topic (deferred to onConnect while disconnected)
+   */
+  private subscribeToStock(bookId: number, watch: StockWatch): void {
+    if (!this.stompClient || !this.stompClient.connected) return;
+
+    watch.subscription = this.stompClient.subscribe(this.STOCK_TOPIC_PREFIX + bookId, (message: { body: string }) => {
+      watch.subject.next(JSON.parse(message.body) as StockUpdate);
     });
   }
 
@@ -113,6 +190,9 @@ export class WebSocketService implements OnDestroy {
   ngOnDestroy(): void {
     this.disconnect();
     this.lowStockSubject.complete();
+    this.analyticsSubject.complete();
+    this.stockWatches.forEach((watch) => watch.subject.complete());
+    this.stockWatches.clear();
     this.connectedSubject.complete();
   }
 }
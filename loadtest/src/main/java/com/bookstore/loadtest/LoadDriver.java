@@ -0,0 +1,153 @@
+package com.bookstore.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoadDriver - Sends the configured request mix from N concurrent clients
+ * 
+ * Closed loop (rate 0): every client sends its next request when the previous
+ * one returns; latency is the request's own round trip.
+ * Open loop (rate > 0): requests are scheduled at fixed intended times and
+ * latency is measured from the intended time, so a stalled server is not
+ * hidden by clients that simply send less (coordinated omission).
+ */
+final class LoadDriver {
+    
+    // Latencies are recorded in microseconds, up to ten minutes (thousands of clients queue for long)
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+    
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final LoadOptions options;
+    private final List<Long> bookIds;
+    private final Operation[] weightedOperations;
+    
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    
+    LoadDriver(HttpClient httpClient, String baseUrl, LoadOptions options, List<Long> bookIds) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.options = options;
+        this.bookIds = bookIds;
+        
+        List<Operation> weighted = new ArrayList<>();
+        options.mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            errors.put(operation, new AtomicLong());
+        });
+        this.weightedOperations = weighted.toArray(new Operation[0]);
+    }
+    
+    /**
+     * Run warmup + measurement and return what was recorded during the measurement
+     */
+    LoadResult run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureStart = start + options.warmup.toNanos();
+        long end = measureStart + options.duration.toNanos();
+        // Per client: time between two intended request starts (open loop only)
+        long intervalNanos = options.rate > 0 ? (long) (options.concurrency * 1e9 / options.rate) : 0;
+        
+        ExecutorService clients = options.virtualClients
+                ? newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(options.concurrency);
+        for (int i = 0; i < options.concurrency; i++) {
+            // Spread the open loop clients over one interval
+            long firstRequest = start + (intervalNanos * i) / options.concurrency;
+            clients.execute(() -> runClient(firstRequest, intervalNanos, measureStart, end));
+        }
+        clients.shutdown();
+        clients.awaitTermination(options.warmup.plus(options.duration).toSeconds() + 60, TimeUnit.SECONDS);
+        
+        return new LoadResult(latencies, errors, options.duration);
+    }
+    
+    private void runClient(long firstRequest, long intervalNanos, long measureStart, long end) {
+        long intended = firstRequest;
+        while (true) {
+            if (intervalNanos > 0) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    sleepNanos(wait);
+                }
+            } else {
+                intended = System.nanoTime();
+            }
+            if (intended >= end) {
+                return;
+            }
+            
+            Operation operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+            boolean ok = send(operation);
+            long latencyMicros = (System.nanoTime() - intended) / 1_000;
+            
+            if (intended >= measureStart) {
+                if (ok) {
+                    latencies.get(operation).recordValue(Math.min(latencyMicros, MAX_LATENCY_MICROS));
+                } else {
+                    errors.get(operation).incrementAndGet();
+                }
+            }
+            intended += intervalNanos;
+        }
+    }
+    
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor(), looked up at run time so the
+     * harness still builds for Java 17
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual thread clients need Java 21", e);
+        }
+    }
+    
+    private boolean send(Operation operation) {
+        HttpRequest request = switch (operation) {
+            case SALE -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/books/sale"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"bookId\":" + randomBookId() + ",\"quantitySold\":1}"))
+                    .build();
+            case BOOKS -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/books")).GET().build();
+            case SUMMARY -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/analytics/summary")).GET().build();
+        };
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+    
+    private long randomBookId() {
+        return bookIds.get(ThreadLocalRandom.current().nextInt(bookIds.size()));
+    }
+    
+    private static void sleepNanos(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
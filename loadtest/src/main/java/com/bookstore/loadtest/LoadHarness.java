@@ -0,0 +1,138 @@
+package com.bookstore.loadtest;
+
+import com.bookstore.BookstoreApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * LoadHarness - End-to-end load test entry point
+ * 
+ * 1. Unless --target is given: starts PostgreSQL (embedded, or --jdbc-url)
+ *    and the backend in this JVM on a random port (Flyway creates the schema)
+ * 2. Creates --books books with plenty of stock
+ * 3. Connects --stomp-clients dashboard subscribers (StompSubscribers), if any
+ * 4. Drives the request mix (LoadDriver) and prints p50/p99/p99.9 and throughput,
+ *    plus the subscribers' message counts and delivery lag
+ * 
+ * The in-process backend logs warnings only, so console output is not part
+ * of the measurement. Client and server share the machine's CPUs - compare
+ * runs made on the same machine only.
+ * 
+ * Options: see LoadOptions.
+ */
+public class LoadHarness {
+    
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        
+        EmbeddedPostgres postgres = null;
+        ConfigurableApplicationContext backend = null;
+        StompSubscribers subscribers = null;
+        try {
+            String baseUrl = options.target;
+            if (baseUrl == null) {
+                if (options.jdbcUrl == null) {
+                    System.out.println("Starting embedded PostgreSQL");
+                    postgres = EmbeddedPostgres.builder().start();
+                    options.jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+                }
+                backend = startBackend(options);
+                baseUrl = "http://localhost:" + backend.getEnvironment().getProperty("local.server.port");
+            }
+            
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            
+            System.out.println("Creating " + options.books + " books");
+            List<Long> bookIds = createBooks(httpClient, baseUrl, options.books);
+            
+            if (options.stompClients > 0) {
+                System.out.println("Connecting " + options.stompClients + " STOMP clients");
+                subscribers = new StompSubscribers(baseUrl, options.stompClients);
+                subscribers.connect();
+                subscribers.startRecording(options.warmup, options.duration);
+            }
+            
+            System.out.println("Running against " + baseUrl + ": " + options.describe());
+            LoadResult result = new LoadDriver(httpClient, baseUrl, options, bookIds).run();
+            
+            String report = "Run " + LocalDateTime.now().withNano(0) + " - " + options.describe() + "\n\n" + result.toMarkdown()
+                    + (subscribers != null ? "\n" + subscribers.toMarkdown() : "");
+            System.out.println();
+            System.out.println(report);
+            if (options.output != null) {
+                Files.writeString(options.output, report);
+            }
+        } finally {
+            if (subscribers != null) {
+                subscribers.close();
+            }
+            if (backend != null) {
+                backend.close();
+            }
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+        System.exit(0);
+    }
+    
+    private static ConfigurableApplicationContext startBackend(LoadOptions options) {
+        System.out.println("Starting backend on " + options.jdbcUrl);
+        // Passed as command line arguments: they override application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.main.log-startup-info=false",
+                "--spring.datasource.url=" + options.jdbcUrl,
+                "--spring.datasource.username=" + options.dbUser,
+                "--spring.datasource.password=" + options.dbPassword,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.bookstore=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.springframework.web=WARN"));
+        if (options.profiles != null) {
+            args.add("--spring.profiles.active=" + options.profiles);
+        }
+        return new SpringApplicationBuilder(BookstoreApplication.class).run(args.toArray(new String[0]));
+    }
+    
+    /**
+     * Create books with enough stock for any run; returns their ids
+     */
+    private static List<Long> createBooks(HttpClient httpClient, String baseUrl, int count) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        // Random ISBN block, so repeated runs against one database do not collide
+        long isbnBase = ThreadLocalRandom.current().nextLong(1_000_000L, 9_000_000L) * 1_000_000L;
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String body = String.format("{\"title\":\"Load test book %d\",\"author\":\"Author %d\",\"isbn\":\"%013d\"," +
+                    "\"price\":%d.99,\"stockQuantity\":100000000}", i, i % 50, isbnBase + i, 5 + i % 30);
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/books"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Could not create book: " + response.statusCode() + " " + response.body());
+            }
+            ids.add(objectMapper.readTree(response.body()).get("id").asLong());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,102 @@
+package com.bookstore.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * LoadOptions - Command line options of the load harness (--name=value)
+ * 
+ * --target=URL         drive an already running backend instead of starting one
+ * --jdbc-url=URL       PostgreSQL for the in-process backend (default: embedded PostgreSQL)
+ * --db-user, --db-password
+ * --profiles=a,b       Spring profiles of the in-process backend (e.g. virtual-threads)
+ * --warmup=10s         not recorded
+ * --duration=60s       recorded
+ * --concurrency=16     concurrent clients
+ * --rate=0             total requests per second over all clients; 0 = closed loop
+ *                      (each client sends its next request as soon as the last one returns)
+ * --mix=sale:70,books:20,summary:10
+ * --books=200          books created before the run (sales pick one at random)
+ * --client-threads=platform  platform or virtual (Java 21) threads for the clients
+ * --stomp-clients=0    STOMP dashboard subscribers connected during the run (StompSubscribers)
+ * --output=FILE        also write the report (markdown) to FILE
+ */
+final class LoadOptions {
+    
+    String target;
+    String jdbcUrl;
+    String dbUser = "postgres";
+    String dbPassword = "postgres";
+    String profiles;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(60);
+    int concurrency = 16;
+    double rate;
+    Map<Operation, Integer> mix = parseMix("sale:70,books:20,summary:10");
+    int books = 200;
+    boolean virtualClients;
+    int stompClients;
+    Path output;
+    
+    static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "target" -> options.target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "jdbc-url" -> options.jdbcUrl = value;
+                case "db-user" -> options.dbUser = value;
+                case "db-password" -> options.dbPassword = value;
+                case "profiles" -> options.profiles = value;
+                case "warmup" -> options.warmup = DurationStyle.detectAndParse(value);
+                case "duration" -> options.duration = DurationStyle.detectAndParse(value);
+                case "concurrency" -> options.concurrency = Integer.parseInt(value);
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "mix" -> options.mix = parseMix(value);
+                case "books" -> options.books = Integer.parseInt(value);
+                case "client-threads" -> options.virtualClients = switch (value) {
+                    case "platform" -> false;
+                    case "virtual" -> true;
+                    default -> throw new IllegalArgumentException("Expected platform or virtual, got: " + value);
+                };
+                case "stomp-clients" -> options.stompClients = Integer.parseInt(value);
+                case "output" -> options.output = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        return options;
+    }
+    
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] keyAndWeight = part.trim().split(":");
+            mix.put(Operation.fromKey(keyAndWeight[0]), Integer.parseInt(keyAndWeight[1]));
+        }
+        return mix;
+    }
+    
+    /**
+     * One-line summary for the report header
+     */
+    String describe() {
+        StringBuilder mixText = new StringBuilder();
+        mix.forEach((operation, weight) -> mixText.append(mixText.length() > 0 ? "," : "")
+                .append(operation.getKey()).append(':').append(weight));
+        return "concurrency=" + concurrency
+                + ", rate=" + (rate > 0 ? rate + "/s (open loop)" : "unbounded (closed loop)")
+                + ", mix=" + mixText
+                + ", warmup=" + warmup.toSeconds() + "s, duration=" + duration.toSeconds() + "s"
+                + ", books=" + books
+                + ", client threads=" + (virtualClients ? "virtual" : "platform")
+                + (stompClients > 0 ? ", stomp clients=" + stompClients : "")
+                + (profiles != null ? ", profiles=" + profiles : "");
+    }
+}
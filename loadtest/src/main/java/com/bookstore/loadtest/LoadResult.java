@@ -0,0 +1,65 @@
+package com.bookstore.loadtest;
+
+import org.HdrHistogram.Histogram;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoadResult - Latencies and errors recorded during the measurement window
+ */
+final class LoadResult {
+    
+    private final Map<Operation, Histogram> latencies;
+    private final Map<Operation, AtomicLong> errors;
+    private final Duration duration;
+    
+    LoadResult(Map<Operation, Histogram> latencies, Map<Operation, AtomicLong> errors, Duration duration) {
+        this.latencies = latencies;
+        this.errors = errors;
+        this.duration = duration;
+    }
+    
+    /**
+     * Markdown table: one row per operation plus the total
+     */
+    String toMarkdown() {
+        StringBuilder table = new StringBuilder()
+                .append("| Operation | Requests | Errors | Throughput (req/s) | p50 (ms) | p99 (ms) | p99.9 (ms) | max (ms) |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|---:|\n");
+        
+        Histogram total = null;
+        long totalErrors = 0;
+        for (Map.Entry<Operation, Histogram> entry : latencies.entrySet()) {
+            Histogram histogram = entry.getValue();
+            long errorCount = errors.get(entry.getKey()).get();
+            appendRow(table, entry.getKey().getLabel(), histogram, errorCount);
+            if (total == null) {
+                total = histogram.copy();
+            } else {
+                total.add(histogram);
+            }
+            totalErrors += errorCount;
+        }
+        if (total != null) {
+            appendRow(table, "**all**", total, totalErrors);
+        }
+        return table.toString();
+    }
+    
+    private void appendRow(StringBuilder table, String label, Histogram histogram, long errorCount) {
+        table.append(String.format("| %s | %d | %d | %.1f | %.2f | %.2f | %.2f | %.2f |%n",
+                label,
+                histogram.getTotalCount(),
+                errorCount,
+                histogram.getTotalCount() / (double) duration.toSeconds(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+    }
+    
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
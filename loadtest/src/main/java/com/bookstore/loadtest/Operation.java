@@ -0,0 +1,38 @@
+package com.bookstore.loadtest;
+
+/**
+ * Operation - The requests the load harness can send
+ * 
+ * The mix option refers to them by key (e.g. --mix=sale:70,books:20,summary:10).
+ */
+enum Operation {
+    
+    SALE("sale", "POST /api/books/sale"),
+    BOOKS("books", "GET /api/books"),
+    SUMMARY("summary", "GET /api/analytics/summary");
+    
+    private final String key;
+    private final String label;
+    
+    Operation(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+    
+    String getKey() {
+        return key;
+    }
+    
+    String getLabel() {
+        return label;
+    }
+    
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key + " (expected sale, books or summary)");
+    }
+}
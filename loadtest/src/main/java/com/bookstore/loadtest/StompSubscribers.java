@@ -0,0 +1,209 @@
+package com.bookstore.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * StompSubscribers - N dashboard clients on the STOMP endpoint during the HTTP run
+ * 
+ * Each client connects to /ws/websocket (plain WebSocket, no SockJS) and subscribes
+ * to /topic/analytics and /topic/low-stock, like the Angular dashboard. Recorded
+ * during the measurement window:
+ * - sessions that received analytics updates, and messages received per topic
+ * - analytics delivery lag: receive time minus the update's generatedAt
+ *   (broker + outbound channel + socket; client and server share a clock)
+ * - sessions lost (transport error or disconnect by the server, e.g. a slow
+ *   client that exceeded the send time or buffer limit)
+ */
+final class StompSubscribers implements AutoCloseable {
+    
+    private static final String ANALYTICS_TOPIC = "/topic/analytics";
+    private static final String LOW_STOCK_TOPIC = "/topic/low-stock";
+    private static final long MAX_LAG_MICROS = TimeUnit.MINUTES.toMicros(10);
+    
+    private final String endpoint;
+    private final int clients;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ThreadPoolTaskScheduler heartbeatScheduler = new ThreadPoolTaskScheduler();
+    private final WebSocketStompClient stompClient;
+    private final List<StompSession> sessions = new ArrayList<>();
+    private final List<AtomicBoolean> receivingFlags = new ArrayList<>();
+    
+    private final Histogram analyticsLag = new ConcurrentHistogram(MAX_LAG_MICROS, 3);
+    private final AtomicLong analyticsMessages = new AtomicLong();
+    private final AtomicLong lowStockMessages = new AtomicLong();
+    private final AtomicLong unparsed = new AtomicLong();
+    private final AtomicLong sessionsLost = new AtomicLong();
+    
+    private volatile long measureStart = Long.MAX_VALUE;
+    private volatile long measureEnd = Long.MAX_VALUE;
+    private Duration duration = Duration.ZERO;
+    
+    StompSubscribers(String baseUrl, int clients) {
+        this.endpoint = baseUrl.replaceFirst("^http", "ws") + "/ws/websocket";
+        this.clients = clients;
+        
+        heartbeatScheduler.setPoolSize(2);
+        heartbeatScheduler.setThreadNamePrefix("stomp-heartbeat-");
+        heartbeatScheduler.initialize();
+        
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        stompClient.setMessageConverter(converter);
+        stompClient.setTaskScheduler(heartbeatScheduler);
+        // Same heartbeats as the dashboard (the broker sends and expects one every 10s)
+        stompClient.setDefaultHeartbeat(new long[] {10_000, 10_000});
+    }
+    
+    /**
+     * Connect and subscribe all clients at once; fails if any client cannot connect
+     * 
+     * The burst is deliberate: the broker's channels must absorb it without
+     * losing frames. The simple broker sends no RECEIPT for SUBSCRIBE, so the
+     * report shows how many sessions received updates.
+     */
+    void connect() throws Exception {
+        List<CompletableFuture<StompSession>> connecting = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            connecting.add(stompClient.connectAsync(endpoint, new SessionHandler()));
+        }
+        for (CompletableFuture<StompSession> future : connecting) {
+            StompSession session = future.get(60, TimeUnit.SECONDS);
+            AtomicBoolean receiving = new AtomicBoolean();
+            session.subscribe(ANALYTICS_TOPIC, new FrameHandler(payload -> onAnalytics(payload, receiving)));
+            session.subscribe(LOW_STOCK_TOPIC, new FrameHandler(payload -> record(lowStockMessages)));
+            sessions.add(session);
+            receivingFlags.add(receiving);
+        }
+    }
+    
+    /**
+     * Record from now + warmup for duration (call just before the HTTP run starts)
+     */
+    void startRecording(Duration warmup, Duration duration) {
+        long start = System.nanoTime() + warmup.toNanos();
+        this.duration = duration;
+        this.measureEnd = start + duration.toNanos();
+        this.measureStart = start;
+    }
+    
+    private void onAnalytics(JsonNode update, AtomicBoolean receiving) {
+        if (!record(analyticsMessages)) {
+            return;
+        }
+        receiving.set(true);
+        try {
+            LocalDateTime generatedAt = LocalDateTime.parse(update.get("generatedAt").asText());
+            long lagMicros = Duration.between(generatedAt, LocalDateTime.now()).toNanos() / 1_000;
+            analyticsLag.recordValue(Math.max(0, Math.min(lagMicros, MAX_LAG_MICROS)));
+        } catch (RuntimeException e) {
+            unparsed.incrementAndGet();
+        }
+    }
+    
+    private boolean record(AtomicLong counter) {
+        long now = System.nanoTime();
+        if (now < measureStart || now >= measureEnd) {
+            return false;
+        }
+        counter.incrementAndGet();
+        return true;
+    }
+    
+    /**
+     * Markdown table with one row for all subscribers
+     */
+    String toMarkdown() {
+        double seconds = Math.max(1, duration.toSeconds());
+        return new StringBuilder()
+                .append("| STOMP clients | Receiving | Lost | Analytics msgs | Low stock msgs | Msgs/s | Unparsed | ")
+                .append("lag p50 (ms) | lag p99 (ms) | lag p99.9 (ms) | lag max (ms) |\n")
+                .append("|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n")
+                .append(String.format("| %d | %d | %d | %d | %d | %.1f | %d | %.2f | %.2f | %.2f | %.2f |%n",
+                        clients,
+                        receivingFlags.stream().filter(AtomicBoolean::get).count(),
+                        sessionsLost.get(),
+                        analyticsMessages.get(),
+                        lowStockMessages.get(),
+                        (analyticsMessages.get() + lowStockMessages.get()) / seconds,
+                        unparsed.get(),
+                        millis(analyticsLag.getValueAtPercentile(50)),
+                        millis(analyticsLag.getValueAtPercentile(99)),
+                        millis(analyticsLag.getValueAtPercentile(99.9)),
+                        millis(analyticsLag.getMaxValue())))
+                .toString();
+    }
+    
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+    
+    @Override
+    public void close() {
+        // Disconnects on purpose are not counted as lost
+        measureEnd = 0;
+        for (StompSession session : sessions) {
+            try {
+                session.disconnect();
+            } catch (RuntimeException e) {
+                // Already closed
+            }
+        }
+        stompClient.stop();
+        heartbeatScheduler.shutdown();
+    }
+    
+    private final class SessionHandler extends StompSessionHandlerAdapter {
+        
+        /**
+         * Frames that could not be converted (counted as unparsed)
+         */
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                    byte[] payload, Throwable exception) {
+            unparsed.incrementAndGet();
+        }
+        
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            if (System.nanoTime() < measureEnd) {
+                sessionsLost.incrementAndGet();
+            }
+        }
+    }
+    
+    private record FrameHandler(Consumer<JsonNode> onPayload) implements StompFrameHandler {
+        
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return JsonNode.class;
+        }
+        
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            onPayload.accept((JsonNode) payload);
+        }
+    }
+}